@@ -13,34 +13,56 @@
  */
 package de.mrapp.android.util;
 
+import android.annotation.TargetApi;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.Bitmap.CompressFormat;
 import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.BitmapShader;
 import android.graphics.Canvas;
-import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Paint.Align;
-import android.graphics.PorterDuff;
-import android.graphics.PorterDuffXfermode;
 import android.graphics.Rect;
-import android.graphics.RectF;
+import android.graphics.Shader;
 import android.graphics.Typeface;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
+import android.os.Build;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import androidx.annotation.ColorInt;
 import androidx.annotation.DrawableRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.collection.LruCache;
 import androidx.core.util.Pair;
+import de.mrapp.android.util.cache.BitmapPool;
+import de.mrapp.android.util.graphics.BitmapRegionDrawable;
+import de.mrapp.android.util.graphics.BitmapTransformation;
+import de.mrapp.android.util.graphics.ImageHeaderParser;
+import de.mrapp.android.util.graphics.TextBitmapRenderer;
 import de.mrapp.util.Condition;
 import de.mrapp.util.StreamUtil;
 
@@ -55,9 +77,284 @@ import static de.mrapp.android.util.DisplayUtil.getDensity;
 public final class BitmapUtil {
 
     /**
-     * The angle of a complete arc.
+     * Defines the interface, a class, which should be notified about thumbnails, which have been
+     * loaded by the method {@link #loadThumbnails(Collection, int, int, ThumbnailCallback)}, must
+     * implement.
      */
-    private static final int COMPLETE_ARC_ANGLE = 360;
+    public interface ThumbnailCallback {
+
+        /**
+         * The method, which is invoked, when a thumbnail has been loaded. This method is invoked
+         * in a background thread. The memory of the thumbnail is accounted for, until this method
+         * returns.
+         *
+         * @param file
+         *         The image file, the thumbnail has been loaded from, as an instance of the class
+         *         {@link File}. The file may not be null
+         * @param thumbnail
+         *         The thumbnail, which has been loaded, as an instance of the class {@link
+         *         Bitmap}. The thumbnail may not be null
+         */
+        void onThumbnailLoaded(@NonNull File file, @NonNull Bitmap thumbnail);
+
+        /**
+         * The method, which is invoked, when a thumbnail could not be loaded. This method is
+         * invoked in a background thread.
+         *
+         * @param file
+         *         The image file, the thumbnail should have been loaded from, as an instance of
+         *         the class {@link File}. The file may not be null
+         * @param exception
+         *         The exception, which has been thrown while decoding the image file, as an
+         *         instance of the class {@link IOException}. The exception may not be null
+         */
+        void onThumbnailFailed(@NonNull File file, @NonNull IOException exception);
+
+    }
+
+    /**
+     * A byte array output stream, which allows to access the bytes, which have been written,
+     * without copying them.
+     */
+    private static class CompressionOutputStream extends ByteArrayOutputStream {
+
+        /**
+         * Creates a new byte array output stream.
+         *
+         * @param capacity
+         *         The initial capacity of the stream in bytes as an {@link Integer} value
+         */
+        CompressionOutputStream(final int capacity) {
+            super(capacity);
+        }
+
+        /**
+         * Returns a byte array, which contains the bytes, which have been written. If the
+         * capacity of the stream exactly matches the number of bytes, which have been written,
+         * the underlying array is returned without copying it.
+         *
+         * @return A byte array, which contains the bytes, which have been written, as a {@link
+         * Byte} array. The array may not be null
+         */
+        @NonNull
+        final synchronized byte[] getBytes() {
+            return count == buf.length ? buf : toByteArray();
+        }
+
+        /**
+         * Returns a byte buffer, which wraps the bytes, which have been written. The bytes are
+         * only copied, if more than a quarter of the capacity of the stream is unused, in order to
+         * not retain the unused capacity as long as the byte buffer.
+         *
+         * @return A byte buffer, which wraps the bytes, which have been written, as an instance of
+         * the class {@link ByteBuffer}. The byte buffer may not be null
+         */
+        @NonNull
+        final synchronized ByteBuffer getByteBuffer() {
+            return buf.length - count > buf.length / 4 ? ByteBuffer.wrap(toByteArray()) :
+                    ByteBuffer.wrap(buf, 0, count);
+        }
+
+    }
+
+    /**
+     * The size of the buffer, which is used to write compressed bitmaps to files, in bytes.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The suffix, which is appended to the names of files, while they are written.
+     */
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    /**
+     * The minimum initial capacity of the buffer, which is used to compress bitmaps, in bytes.
+     */
+    private static final int MIN_COMPRESSION_CAPACITY = 1024;
+
+    /**
+     * The maximum initial capacity of the buffer, which is used to compress bitmaps, in bytes. If
+     * more bytes are needed, the buffer grows dynamically.
+     */
+    private static final int MAX_COMPRESSION_CAPACITY = 64 * 1024;
+
+    /**
+     * The size of the buffer, which is used to read the headers of image files, in bytes.
+     */
+    private static final int HEADER_BUFFER_SIZE = 1024;
+
+    /**
+     * The maximum number of image headers, which are cached.
+     */
+    private static final int MAX_IMAGE_HEADER_COUNT = 1024;
+
+    /**
+     * A LRU cache, which contains the headers of image files, which have been parsed recently. The
+     * headers are identified by the paths, sizes and modification dates of the files.
+     */
+    private static final LruCache<String, ImageHeaderParser.Header> IMAGE_HEADERS =
+            new LruCache<>(MAX_IMAGE_HEADER_COUNT);
+
+    /**
+     * Returns the header of a specific image file. If the file has been parsed before and has not
+     * been modified since, the header is retrieved from a cache. Otherwise, the header is parsed by
+     * using an {@link ImageHeaderParser}. If the format of the image is not supported by the
+     * parser, the bounds of the image are decoded by using the class {@link BitmapFactory}
+     * instead.
+     *
+     * @param file
+     *         The image file, whose header should be returned, as an instance of the class {@link
+     *         File}. The file may not be null
+     * @return The header of the given image file as an instance of the class {@link
+     * ImageHeaderParser.Header}. The header may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while reading the image file
+     */
+    @NonNull
+    private static ImageHeaderParser.Header getImageHeader(@NonNull final File file)
+            throws IOException {
+        String path = file.getAbsolutePath();
+        String key = path + ":" + file.length() + ":" + file.lastModified();
+        ImageHeaderParser.Header header = IMAGE_HEADERS.get(key);
+
+        if (header == null) {
+            InputStream inputStream = null;
+
+            try {
+                inputStream = new BufferedInputStream(new FileInputStream(file),
+                        HEADER_BUFFER_SIZE);
+                header = ImageHeaderParser.parse(inputStream);
+            } finally {
+                StreamUtil.INSTANCE.close(inputStream);
+            }
+
+            if (header == null) {
+                BitmapFactory.Options options = new BitmapFactory.Options();
+                options.inJustDecodeBounds = true;
+                BitmapFactory.decodeFile(path, options);
+
+                if (options.outWidth == -1 || options.outHeight == -1) {
+                    throw new IOException("Failed to decode image \"" + path + "\"");
+                }
+
+                header = new ImageHeaderParser.Header(options.outWidth, options.outHeight,
+                        options.outMimeType);
+            }
+
+            IMAGE_HEADERS.put(key, header);
+        }
+
+        return header;
+    }
+
+    /**
+     * Loads a downsampled thumbnail of a specific image file and passes it to a callback. The
+     * memory, which is needed by the thumbnail, is estimated beforehand and acquired from a
+     * specific semaphore, which is used to bound the memory, which is used by all thumbnails,
+     * which are loaded concurrently. Runtime exceptions and out of memory errors, which occur while
+     * loading the thumbnail, are passed to the callback as the cause of an {@link IOException}. If
+     * the current thread is interrupted, an {@link InterruptedIOException} is passed to the
+     * callback. Exceptions, which are thrown by the callback itself, are not caught.
+     *
+     * @param file
+     *         The image file, which should be loaded, as an instance of the class {@link File}. The
+     *         file may not be null
+     * @param maxWidth
+     *         The maximum width of the thumbnail in pixels as an {@link Integer} value
+     * @param maxHeight
+     *         The maximum height of the thumbnail in pixels as an {@link Integer} value
+     * @param semaphore
+     *         The semaphore, whose permits correspond to kilobytes of memory, as an instance of the
+     *         class {@link Semaphore}. The semaphore may not be null
+     * @param maxPermits
+     *         The total number of permits of the semaphore as an {@link Integer} value
+     * @param callback
+     *         The callback, the thumbnail should be passed to, as an instance of the type {@link
+     *         ThumbnailCallback}. The callback may not be null
+     */
+    private static void loadThumbnail(@NonNull final File file, final int maxWidth,
+                                      final int maxHeight, @NonNull final Semaphore semaphore,
+                                      final int maxPermits,
+                                      @NonNull final ThumbnailCallback callback) {
+        int permits;
+
+        try {
+            Pair<Integer, Integer> imageDimensions = getImageDimensions(file);
+            int sampleSize = getSampleSize(imageDimensions, maxWidth, maxHeight);
+            long width = (imageDimensions.first + sampleSize - 1) / sampleSize;
+            long height = (imageDimensions.second + sampleSize - 1) / sampleSize;
+            long kiloBytes = (width * height * 4 + 1023) / 1024;
+            permits = (int) Math.max(1, Math.min(maxPermits, kiloBytes));
+            semaphore.acquire(permits);
+        } catch (IOException | RuntimeException | OutOfMemoryError e) {
+            callback.onThumbnailFailed(file, toIOException(file, e));
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException exception = new InterruptedIOException(
+                    "Interrupted while loading thumbnail of image \"" + file + "\"");
+            exception.initCause(e);
+            callback.onThumbnailFailed(file, exception);
+            return;
+        }
+
+        try {
+            Bitmap thumbnail;
+
+            try {
+                thumbnail = loadThumbnail(file, maxWidth, maxHeight);
+            } catch (IOException | RuntimeException | OutOfMemoryError e) {
+                callback.onThumbnailFailed(file, toIOException(file, e));
+                return;
+            }
+
+            callback.onThumbnailLoaded(file, thumbnail);
+        } finally {
+            semaphore.release(permits);
+        }
+    }
+
+    /**
+     * Returns an {@link IOException}, which reports, that loading the thumbnail of a specific image
+     * file failed because of a specific throwable.
+     *
+     * @param file
+     *         The image file as an instance of the class {@link File}. The file may not be null
+     * @param throwable
+     *         The throwable, which caused loading the thumbnail to fail, as an instance of the
+     *         class {@link Throwable}. The throwable may not be null
+     * @return The given throwable, if it is an {@link IOException}, or an {@link IOException},
+     * which is caused by the given throwable
+     */
+    @NonNull
+    private static IOException toIOException(@NonNull final File file,
+                                             @NonNull final Throwable throwable) {
+        if (throwable instanceof IOException) {
+            return (IOException) throwable;
+        }
+
+        return new IOException("Failed to load thumbnail of image \"" + file + "\"", throwable);
+    }
+
+    /**
+     * Returns the initial capacity of the buffer, which should be used to compress a specific
+     * bitmap. The capacity is a conservative estimate of the size of the compressed bitmap, which
+     * is bounded by <code>MIN_COMPRESSION_CAPACITY</code> and
+     * <code>MAX_COMPRESSION_CAPACITY</code>, as the actual size heavily depends on the content of
+     * the bitmap.
+     *
+     * @param bitmap
+     *         The bitmap as an instance of the class {@link Bitmap}. The bitmap may not be null
+     * @param format
+     *         The format as a value of the enum {@link CompressFormat}. The format may not be null
+     * @return The initial capacity in bytes as an {@link Integer} value
+     */
+    private static int estimateCompressedSize(@NonNull final Bitmap bitmap,
+                                              @NonNull final CompressFormat format) {
+        int byteCount = bitmap.getByteCount();
+        int estimate = format == CompressFormat.PNG ? byteCount / 8 : byteCount / 32;
+        return Math.min(MAX_COMPRESSION_CAPACITY, Math.max(MIN_COMPRESSION_CAPACITY, estimate));
+    }
 
     /**
      * Calculates the sample size, which should be used to downsample an image to a maximum width
@@ -95,6 +392,203 @@ public final class BitmapUtil {
         return sampleSize;
     }
 
+    /**
+     * Prepares specific options, whose bounds have already been decoded, for decoding a thumbnail
+     * of an image. The sample size and, if the thumbnail should have exactly the maximum size,
+     * the density scaling are set. If possible, a bitmap, which is contained by a specific pool,
+     * is set as the option <code>inBitmap</code> in order to reuse its memory. On devices with an
+     * API level less than 19, bitmaps can only be reused, if the image is neither downsampled nor
+     * scaled.
+     *
+     * @param options
+     *         The options, which should be prepared, as an instance of the class {@link
+     *         BitmapFactory.Options}. The options may not be null
+     * @param maxWidth
+     *         The maximum width of the thumbnail in pixels as an {@link Integer} value. The maximum
+     *         width must be at least 1
+     * @param maxHeight
+     *         The maximum height of the thumbnail in pixels as an {@link Integer} value. The
+     *         maximum height must be at least 1
+     * @param exactSize
+     *         True, if the thumbnail should be scaled to exactly fit the maximum width or height,
+     *         false, if only power-of-two downsampling should be used
+     * @param config
+     *         The config, which should preferably be used by the thumbnail, as a value of the enum
+     *         {@link Bitmap.Config} or null, if the default config should be used
+     * @param pool
+     *         The pool, the bitmap should be retrieved from, as an instance of the class {@link
+     *         BitmapPool} or null, if no bitmap should be reused. If a pool is given, the decoded
+     *         bitmap is mutable
+     * @return True, if the image is scaled by using the density, false otherwise
+     */
+    @TargetApi(Build.VERSION_CODES.O)
+    private static boolean prepareOptions(@NonNull final BitmapFactory.Options options,
+                                          final int maxWidth, final int maxHeight,
+                                          final boolean exactSize,
+                                          @Nullable final Bitmap.Config config,
+                                          @Nullable final BitmapPool pool) {
+        Condition.INSTANCE.ensureAtLeast(maxWidth, 1, "The maximum width must be at least 1");
+        Condition.INSTANCE.ensureAtLeast(maxHeight, 1, "The maximum height must be at least 1");
+        int width = options.outWidth;
+        int height = options.outHeight;
+        int thumbnailWidth;
+        int thumbnailHeight;
+        boolean scaled = false;
+        options.inJustDecodeBounds = false;
+
+        if (exactSize) {
+            float widthScale = (float) maxWidth / width;
+            float heightScale = (float) maxHeight / height;
+            float scale = Math.min(widthScale, heightScale);
+            int sampleSize = 1;
+
+            if (scale < 1) {
+                thumbnailWidth = Math.max(1, Math.round(width * scale));
+                thumbnailHeight = Math.max(1, Math.round(height * scale));
+
+                while (width / (sampleSize * 2) >= thumbnailWidth &&
+                        height / (sampleSize * 2) >= thumbnailHeight) {
+                    sampleSize *= 2;
+                }
+
+                int sampledSize = widthScale <= heightScale ? width / sampleSize :
+                        height / sampleSize;
+                int targetSize = widthScale <= heightScale ? thumbnailWidth : thumbnailHeight;
+
+                if (sampledSize != targetSize) {
+                    options.inScaled = true;
+                    options.inDensity = sampledSize;
+                    options.inTargetDensity = targetSize;
+                    scaled = true;
+                }
+            } else {
+                thumbnailWidth = width;
+                thumbnailHeight = height;
+            }
+
+            options.inSampleSize = sampleSize;
+        } else {
+            options.inSampleSize = getSampleSize(Pair.create(width, height), maxWidth, maxHeight);
+            thumbnailWidth = (width + options.inSampleSize - 1) / options.inSampleSize;
+            thumbnailHeight = (height + options.inSampleSize - 1) / options.inSampleSize;
+        }
+
+        if (config != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.O &&
+                config == Bitmap.Config.HARDWARE) {
+            options.inPreferredConfig = config;
+            return scaled;
+        }
+
+        options.inPreferredConfig = config == null ||
+                (config == Bitmap.Config.RGB_565 && !"image/jpeg".equals(options.outMimeType)) ?
+                Bitmap.Config.ARGB_8888 : config;
+
+        if (pool != null) {
+            options.inMutable = true;
+
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT ||
+                    (options.inSampleSize == 1 && !scaled)) {
+                options.inBitmap =
+                        pool.getDirty(thumbnailWidth, thumbnailHeight, options.inPreferredConfig);
+            }
+        }
+
+        return scaled;
+    }
+
+    /**
+     * Decodes a specific image file by using specific options. If a bitmap, which is reused by
+     * the given options, turns out to be incompatible with the image, it is returned to the given
+     * pool and the image is decoded into a newly allocated bitmap instead. As {@link
+     * BitmapFactory#decodeFile(String, BitmapFactory.Options)} does not propagate the exception,
+     * which is thrown in such case, any failed attempt to decode into a reused bitmap is retried.
+     *
+     * @param path
+     *         The path of the image file, which should be decoded, as a {@link String}. The path
+     *         may not be null
+     * @param options
+     *         The options, which should be used to decode the image, as an instance of the class
+     *         {@link BitmapFactory.Options}. The options may not be null
+     * @param pool
+     *         The pool, the reused bitmap belongs to, as an instance of the class {@link
+     *         BitmapPool} or null, if no bitmap is reused
+     * @return The bitmap, which has been decoded, as an instance of the class {@link Bitmap} or
+     * null, if the image could not be decoded
+     */
+    @Nullable
+    private static Bitmap decodeFile(@NonNull final String path,
+                                     @NonNull final BitmapFactory.Options options,
+                                     @Nullable final BitmapPool pool) {
+        Bitmap bitmap = BitmapFactory.decodeFile(path, options);
+
+        if (bitmap == null && options.inBitmap != null) {
+            recycleInBitmap(options, pool);
+            bitmap = BitmapFactory.decodeFile(path, options);
+        }
+
+        return bitmap;
+    }
+
+    /**
+     * Decodes a specific image resource by using specific options. If a bitmap, which is reused by
+     * the given options, turns out to be incompatible with the image, it is returned to the given
+     * pool and the image is decoded into a newly allocated bitmap instead.
+     *
+     * @param context
+     *         The context, which should be used, as an instance of the class {@link Context}. The
+     *         context may not be null
+     * @param resourceId
+     *         The resource id of the image resource, which should be decoded, as an {@link
+     *         Integer} value
+     * @param options
+     *         The options, which should be used to decode the image, as an instance of the class
+     *         {@link BitmapFactory.Options}. The options may not be null
+     * @param pool
+     *         The pool, the reused bitmap belongs to, as an instance of the class {@link
+     *         BitmapPool} or null, if no bitmap is reused
+     * @return The bitmap, which has been decoded, as an instance of the class {@link Bitmap} or
+     * null, if the image could not be decoded
+     */
+    @Nullable
+    private static Bitmap decodeResource(@NonNull final Context context,
+                                         @DrawableRes final int resourceId,
+                                         @NonNull final BitmapFactory.Options options,
+                                         @Nullable final BitmapPool pool) {
+        try {
+            return BitmapFactory.decodeResource(context.getResources(), resourceId, options);
+        } catch (IllegalArgumentException e) {
+            if (options.inBitmap == null) {
+                throw e;
+            }
+
+            recycleInBitmap(options, pool);
+            return BitmapFactory.decodeResource(context.getResources(), resourceId, options);
+        }
+    }
+
+    /**
+     * Returns the bitmap, which is reused by specific decoding options, to a specific pool and
+     * removes it from the options.
+     *
+     * @param options
+     *         The options as an instance of the class {@link BitmapFactory.Options}. The options
+     *         may not be null
+     * @param pool
+     *         The pool, the bitmap should be returned to, as an instance of the class {@link
+     *         BitmapPool} or null, if the bitmap should be recycled
+     */
+    private static void recycleInBitmap(@NonNull final BitmapFactory.Options options,
+                                        @Nullable final BitmapPool pool) {
+        Bitmap inBitmap = options.inBitmap;
+        options.inBitmap = null;
+
+        if (pool != null) {
+            pool.put(inBitmap);
+        } else {
+            inBitmap.recycle();
+        }
+    }
+
     /**
      * Creates a new utility class, which provides static methods, which allow to create and edit
      * bitmaps.
@@ -132,19 +626,9 @@ public final class BitmapUtil {
      * @return The clipped bitmap as an instance of the class {@link Bitmap}
      */
     public static Bitmap clipCircle(@NonNull final Bitmap bitmap, final int size) {
-        Bitmap squareBitmap = clipSquare(bitmap, size);
-        int squareSize = squareBitmap.getWidth();
-        float radius = (float) squareSize / 2.0f;
-        Bitmap clippedBitmap = Bitmap.createBitmap(squareSize, squareSize, Bitmap.Config.ARGB_8888);
-        Canvas canvas = new Canvas(clippedBitmap);
-        Paint paint = new Paint();
-        paint.setAntiAlias(true);
-        paint.setColor(Color.BLACK);
-        canvas.drawCircle(radius, radius, radius, paint);
-        paint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.SRC_IN));
-        canvas.drawBitmap(squareBitmap, new Rect(0, 0, squareSize, squareSize),
-                new Rect(0, 0, squareSize, squareSize), paint);
-        return clippedBitmap;
+        Condition.INSTANCE.ensureNotNull(bitmap, "The bitmap may not be null");
+        Condition.INSTANCE.ensureAtLeast(size, 1, "The size must be at least 1");
+        return new BitmapTransformation().clipCircle().resize(size, size).transform(bitmap);
     }
 
     /**
@@ -190,32 +674,10 @@ public final class BitmapUtil {
      */
     public static Bitmap clipCircle(@NonNull final Bitmap bitmap, final int size,
                                     final int borderWidth, @ColorInt final int borderColor) {
-        Condition.INSTANCE.ensureAtLeast(borderWidth, 0, "The border width must be at least 0");
-        Bitmap clippedBitmap = clipCircle(bitmap, size);
-        Bitmap result = Bitmap.createBitmap(clippedBitmap.getWidth(), clippedBitmap.getHeight(),
-                Bitmap.Config.ARGB_8888);
-        Canvas canvas = new Canvas(result);
-        float offset = borderWidth / 2.0f;
-        Rect src = new Rect(0, 0, clippedBitmap.getWidth(), clippedBitmap.getHeight());
-        RectF dst =
-                new RectF(offset, offset, result.getWidth() - offset, result.getHeight() - offset);
-        canvas.drawBitmap(clippedBitmap, src, dst, null);
-
-        if (borderWidth > 0 && Color.alpha(borderColor) != 0) {
-            Paint paint = new Paint();
-            paint.setFilterBitmap(false);
-            paint.setAntiAlias(true);
-            paint.setStrokeCap(Paint.Cap.ROUND);
-            paint.setStyle(Paint.Style.STROKE);
-            paint.setStrokeWidth(borderWidth);
-            paint.setColor(borderColor);
-            offset = borderWidth / 2.0f;
-            RectF bounds = new RectF(offset, offset, result.getWidth() - offset,
-                    result.getWidth() - offset);
-            canvas.drawArc(bounds, 0, COMPLETE_ARC_ANGLE, false, paint);
-        }
-
-        return result;
+        Condition.INSTANCE.ensureNotNull(bitmap, "The bitmap may not be null");
+        Condition.INSTANCE.ensureAtLeast(size, 1, "The size must be at least 1");
+        return new BitmapTransformation().clipCircle().resize(size, size)
+                .border(borderWidth, borderColor).transform(bitmap);
     }
 
     /**
@@ -310,30 +772,10 @@ public final class BitmapUtil {
      */
     public static Bitmap clipSquare(@NonNull final Bitmap bitmap, final int size,
                                     final int borderWidth, @ColorInt final int borderColor) {
-        Condition.INSTANCE.ensureAtLeast(borderWidth, 0, "The border width must be at least 0");
-        Bitmap clippedBitmap = clipSquare(bitmap, size);
-        Bitmap result = Bitmap.createBitmap(clippedBitmap.getWidth(), clippedBitmap.getHeight(),
-                Bitmap.Config.ARGB_8888);
-        Canvas canvas = new Canvas(result);
-        float offset = borderWidth / 2.0f;
-        Rect src = new Rect(0, 0, clippedBitmap.getWidth(), clippedBitmap.getHeight());
-        RectF dst =
-                new RectF(offset, offset, result.getWidth() - offset, result.getHeight() - offset);
-        canvas.drawBitmap(clippedBitmap, src, dst, null);
-
-        if (borderWidth > 0 && Color.alpha(borderColor) != 0) {
-            Paint paint = new Paint();
-            paint.setFilterBitmap(false);
-            paint.setStyle(Paint.Style.STROKE);
-            paint.setStrokeWidth(borderWidth);
-            paint.setColor(borderColor);
-            offset = borderWidth / 2.0f;
-            RectF bounds = new RectF(offset, offset, result.getWidth() - offset,
-                    result.getWidth() - offset);
-            canvas.drawRect(bounds, paint);
-        }
-
-        return result;
+        Condition.INSTANCE.ensureNotNull(bitmap, "The bitmap may not be null");
+        Condition.INSTANCE.ensureAtLeast(size, 1, "The size must be at least 1");
+        return new BitmapTransformation().clipSquare().resize(size, size)
+                .border(borderWidth, borderColor).transform(bitmap);
     }
 
     /**
@@ -395,6 +837,50 @@ public final class BitmapUtil {
         return new Pair<>(topBitmap, bottomBitmap);
     }
 
+    /**
+     * Splits a specific bitmap horizontally at half without copying any pixels. Instead of
+     * bitmaps, drawables, which reference the regions of the original bitmap, are returned.
+     *
+     * @param bitmap
+     *         The bitmap, which should be split, as an instance of the class {@link Bitmap}. The
+     *         bitmap may not be null
+     * @return A pair, which contains the two drawables, which reference the regions, the original
+     * bitmap has been split into, as an instance of the class Pair
+     */
+    public static Pair<BitmapRegionDrawable, BitmapRegionDrawable> splitHorizontallyIntoDrawables(
+            @NonNull final Bitmap bitmap) {
+        Condition.INSTANCE.ensureNotNull(bitmap, "The bitmap may not be null");
+        return splitHorizontallyIntoDrawables(bitmap, bitmap.getHeight() / 2);
+    }
+
+    /**
+     * Splits a specific bitmap horizontally at a specific split point without copying any pixels.
+     * Instead of bitmaps, drawables, which reference the regions of the original bitmap, are
+     * returned.
+     *
+     * @param bitmap
+     *         The bitmap, which should be split, as an instance of the class {@link Bitmap}. The
+     *         bitmap may not be null
+     * @param splitPoint
+     *         The row, the bitmap should be split at, counted from the top edge in pixels as an
+     *         {@link Integer} value
+     * @return A pair, which contains the two drawables, which reference the regions, the original
+     * bitmap has been split into, as an instance of the class Pair
+     */
+    public static Pair<BitmapRegionDrawable, BitmapRegionDrawable> splitHorizontallyIntoDrawables(
+            @NonNull final Bitmap bitmap, final int splitPoint) {
+        Condition.INSTANCE.ensureNotNull(bitmap, "The bitmap may not be null");
+        Condition.INSTANCE.ensureGreater(splitPoint, 0, "The split point must be greater than 0");
+        Condition.INSTANCE.ensureSmaller(splitPoint, bitmap.getHeight(),
+                "The split point must be smaller than " + bitmap.getHeight());
+        int width = bitmap.getWidth();
+        BitmapRegionDrawable top =
+                new BitmapRegionDrawable(bitmap, new Rect(0, 0, width, splitPoint));
+        BitmapRegionDrawable bottom = new BitmapRegionDrawable(bitmap,
+                new Rect(0, splitPoint, width, bitmap.getHeight()));
+        return new Pair<>(top, bottom);
+    }
+
     /**
      * Splits a specific bitmap vertically at half.
      *
@@ -433,6 +919,50 @@ public final class BitmapUtil {
         return new Pair<>(leftBitmap, rightBitmap);
     }
 
+    /**
+     * Splits a specific bitmap vertically at half without copying any pixels. Instead of bitmaps,
+     * drawables, which reference the regions of the original bitmap, are returned.
+     *
+     * @param bitmap
+     *         The bitmap, which should be split, as an instance of the class {@link Bitmap}. The
+     *         bitmap may not be null
+     * @return A pair, which contains the two drawables, which reference the regions, the original
+     * bitmap has been split into, as an instance of the class Pair
+     */
+    public static Pair<BitmapRegionDrawable, BitmapRegionDrawable> splitVerticallyIntoDrawables(
+            @NonNull final Bitmap bitmap) {
+        Condition.INSTANCE.ensureNotNull(bitmap, "The bitmap may not be null");
+        return splitVerticallyIntoDrawables(bitmap, bitmap.getWidth() / 2);
+    }
+
+    /**
+     * Splits a specific bitmap vertically at a specific split point without copying any pixels.
+     * Instead of bitmaps, drawables, which reference the regions of the original bitmap, are
+     * returned.
+     *
+     * @param bitmap
+     *         The bitmap, which should be split, as an instance of the class {@link Bitmap}. The
+     *         bitmap may not be null
+     * @param splitPoint
+     *         The column, the bitmap should be split at, counted from the left edge in pixels as an
+     *         {@link Integer} value
+     * @return A pair, which contains the two drawables, which reference the regions, the original
+     * bitmap has been split into, as an instance of the class Pair
+     */
+    public static Pair<BitmapRegionDrawable, BitmapRegionDrawable> splitVerticallyIntoDrawables(
+            @NonNull final Bitmap bitmap, final int splitPoint) {
+        Condition.INSTANCE.ensureNotNull(bitmap, "The bitmap may not be null");
+        Condition.INSTANCE.ensureGreater(splitPoint, 0, "The split point must be greater than 0");
+        Condition.INSTANCE.ensureSmaller(splitPoint, bitmap.getWidth(),
+                "The split point must be smaller than " + bitmap.getWidth());
+        int height = bitmap.getHeight();
+        BitmapRegionDrawable left =
+                new BitmapRegionDrawable(bitmap, new Rect(0, 0, splitPoint, height));
+        BitmapRegionDrawable right = new BitmapRegionDrawable(bitmap,
+                new Rect(splitPoint, 0, bitmap.getWidth(), height));
+        return new Pair<>(left, right);
+    }
+
     /**
      * Creates and returns a bitmap with a specific width and height by tiling another bitmap.
      *
@@ -453,19 +983,9 @@ public final class BitmapUtil {
         Condition.INSTANCE.ensureAtLeast(height, 1, "The height must be at least 1");
         Bitmap result = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
         Canvas canvas = new Canvas(result);
-        int originalWidth = bitmap.getWidth();
-        int originalHeight = bitmap.getHeight();
-
-        for (int x = 0; x < width; x += originalWidth) {
-            for (int y = 0; y < width; y += originalHeight) {
-                int copyWidth = (width - x >= originalWidth) ? originalWidth : width - x;
-                int copyHeight = (height - y >= originalHeight) ? originalHeight : height - y;
-                Rect src = new Rect(0, 0, copyWidth, copyHeight);
-                Rect dest = new Rect(x, y, x + copyWidth, y + copyHeight);
-                canvas.drawBitmap(bitmap, src, dest, null);
-            }
-        }
-
+        Paint paint = new Paint();
+        paint.setShader(new BitmapShader(bitmap, Shader.TileMode.REPEAT, Shader.TileMode.REPEAT));
+        canvas.drawRect(0, 0, width, height, paint);
         return result;
     }
 
@@ -524,7 +1044,9 @@ public final class BitmapUtil {
     }
 
     /**
-     * Creates and returns a bitmap from a specific text. The text is centered.
+     * Creates and returns a bitmap from a specific text. The text is centered. When rendering the
+     * same texts repeatedly, e.g. as letter avatars, a {@link TextBitmapRenderer} should be used
+     * instead, as it caches the bitmaps, which have been created.
      *
      * @param context
      *         The context, which should be used, as an instance of the class {@link Context}. The
@@ -557,7 +1079,9 @@ public final class BitmapUtil {
     }
 
     /**
-     * Creates and returns a bitmap from a specific text. The text is centered.
+     * Creates and returns a bitmap from a specific text. The text is centered. When rendering the
+     * same texts repeatedly, e.g. as letter avatars, a {@link TextBitmapRenderer} should be used
+     * instead, as it caches the bitmaps, which have been created.
      *
      * @param context
      *         The context, which should be used, as an instance of the class {@link Context}. The
@@ -593,8 +1117,11 @@ public final class BitmapUtil {
         Condition.INSTANCE.ensureNotNull(text, "The text may not be null");
         Condition.INSTANCE.ensureNotEmpty(text, "The text may not be empty");
         Condition.INSTANCE.ensureAtLeast(textSize, 1, "The text size must be at least 1");
-        Bitmap bitmap = colorToBitmap(width, height, backgroundColor);
+        Condition.INSTANCE.ensureAtLeast(width, 1, "The width must be at least 1");
+        Condition.INSTANCE.ensureAtLeast(height, 1, "The height must be at least 1");
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
         Canvas canvas = new Canvas(bitmap);
+        canvas.drawColor(backgroundColor);
         Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
         paint.setColor(textColor);
         paint.setTextSize(textSize * getDensity(context));
@@ -604,8 +1131,8 @@ public final class BitmapUtil {
             paint.setTypeface(typeface);
         }
 
-        int x = bitmap.getWidth() / 2;
-        int y = (int) ((bitmap.getHeight() / 2) - ((paint.descent() + paint.ascent()) / 2));
+        int x = width / 2;
+        int y = (int) ((height / 2) - ((paint.descent() + paint.ascent()) / 2));
         canvas.drawText(text.toString(), x, y, paint);
         return bitmap;
     }
@@ -636,7 +1163,9 @@ public final class BitmapUtil {
     }
 
     /**
-     * Returns the width and height of a specific image file.
+     * Returns the width and height of a specific image file. For JPEG, PNG, WebP and GIF images,
+     * only the header of the file is read. Other formats are decoded by using the class {@link
+     * BitmapFactory}. The results are cached, as long as the file is not modified.
      *
      * @param file
      *         The image file, whose width and height should be returned, as an instance of the
@@ -652,18 +1181,8 @@ public final class BitmapUtil {
         Condition.INSTANCE.ensureNotNull(file, "The file may not be null");
         Condition.INSTANCE
                 .ensureFileIsNoDirectory(file, "The file must exist and must not be a directory");
-        String path = file.getPath();
-        BitmapFactory.Options options = new BitmapFactory.Options();
-        options.inJustDecodeBounds = true;
-        BitmapFactory.decodeFile(path, options);
-        int width = options.outWidth;
-        int height = options.outHeight;
-
-        if (width == -1 || height == -1) {
-            throw new IOException("Failed to decode image \"" + path + "\"");
-        }
-
-        return Pair.create(width, height);
+        ImageHeaderParser.Header header = getImageHeader(file);
+        return Pair.create(header.getWidth(), header.getHeight());
     }
 
     /**
@@ -716,18 +1235,92 @@ public final class BitmapUtil {
      */
     public static Bitmap loadThumbnail(@NonNull final File file, final int maxWidth,
                                        final int maxHeight) throws IOException {
-        Pair<Integer, Integer> imageDimensions = getImageDimensions(file);
-        int sampleSize = getSampleSize(imageDimensions, maxWidth, maxHeight);
-        BitmapFactory.Options options = new BitmapFactory.Options();
-        options.inJustDecodeBounds = false;
-        options.inSampleSize = sampleSize;
+        return loadThumbnail(file, maxWidth, maxHeight, null);
+    }
+
+    /**
+     * Loads a downsampled thumbnail of a specific image file while maintaining its aspect ratio.
+     * If possible, the memory of a bitmap, which is contained by a specific pool, is reused
+     * instead of allocating a new bitmap. The thumbnail is mutable and should be added to the
+     * pool, once it is not used anymore.
+     *
+     * @param file
+     *         The image file, which should be loaded, as an instance of the class {@link File}. The
+     *         file may not be null. The file must exist and must not be a directory
+     * @param maxWidth
+     *         The maximum width of the thumbnail in pixels as an {@link Integer} value. The maximum
+     *         width must be at least 1
+     * @param maxHeight
+     *         The maximum height of the thumbnail in pixels as an {@link Integer} value. The
+     *         maximum height must be at least 1
+     * @param pool
+     *         The pool, which contains the bitmaps, which may be reused, as an instance of the
+     *         class {@link BitmapPool} or null, if no bitmaps should be reused
+     * @return The thumbnail, which has been loaded, as an instance of the class {@link Bitmap}
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while decoding the image file
+     */
+    public static Bitmap loadThumbnail(@NonNull final File file, final int maxWidth,
+                                       final int maxHeight, @Nullable final BitmapPool pool)
+            throws IOException {
+        return loadThumbnail(file, maxWidth, maxHeight, false, null, pool);
+    }
+
+    /**
+     * Loads a thumbnail of a specific image file while maintaining its aspect ratio. If the
+     * thumbnail should have exactly the maximum size, the image is downsampled and scaled while
+     * being decoded. This avoids to resize the thumbnail afterwards. If possible, the memory of a
+     * bitmap, which is contained by a specific pool, is reused instead of allocating a new bitmap.
+     *
+     * @param file
+     *         The image file, which should be loaded, as an instance of the class {@link File}. The
+     *         file may not be null. The file must exist and must not be a directory
+     * @param maxWidth
+     *         The maximum width of the thumbnail in pixels as an {@link Integer} value. The maximum
+     *         width must be at least 1
+     * @param maxHeight
+     *         The maximum height of the thumbnail in pixels as an {@link Integer} value. The
+     *         maximum height must be at least 1
+     * @param exactSize
+     *         True, if the thumbnail should be scaled to exactly fit the maximum width or height,
+     *         false, if only power-of-two downsampling should be used. In the latter case, the
+     *         thumbnail may be up to twice as large as the maximum size in each dimension
+     * @param config
+     *         The config, which should preferably be used by the thumbnail, as a value of the enum
+     *         {@link Bitmap.Config} or null, if the default config should be used. The config
+     *         <code>RGB_565</code> is only used for JPEG images, as they are always opaque. The
+     *         config <code>HARDWARE</code> prevents bitmaps from being reused
+     * @param pool
+     *         The pool, which contains the bitmaps, which may be reused, as an instance of the
+     *         class {@link BitmapPool} or null, if no bitmaps should be reused
+     * @return The thumbnail, which has been loaded, as an instance of the class {@link Bitmap}
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while decoding the image file
+     */
+    public static Bitmap loadThumbnail(@NonNull final File file, final int maxWidth,
+                                       final int maxHeight, final boolean exactSize,
+                                       @Nullable final Bitmap.Config config,
+                                       @Nullable final BitmapPool pool) throws IOException {
+        Condition.INSTANCE.ensureNotNull(file, "The file may not be null");
+        Condition.INSTANCE
+                .ensureFileIsNoDirectory(file, "The file must exist and must not be a directory");
         String path = file.getAbsolutePath();
-        Bitmap thumbnail = BitmapFactory.decodeFile(path, options);
+        ImageHeaderParser.Header header = getImageHeader(file);
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.outWidth = header.getWidth();
+        options.outHeight = header.getHeight();
+        options.outMimeType = header.getMimeType();
+        boolean scaled = prepareOptions(options, maxWidth, maxHeight, exactSize, config, pool);
+        Bitmap thumbnail = decodeFile(path, options, pool);
 
         if (thumbnail == null) {
             throw new IOException("Failed to decode image \"" + path + "\"");
         }
 
+        if (scaled) {
+            thumbnail.setDensity(Bitmap.DENSITY_NONE);
+        }
+
         return thumbnail;
     }
 
@@ -753,23 +1346,287 @@ public final class BitmapUtil {
      */
     public static Bitmap loadThumbnail(@NonNull Context context, @DrawableRes final int resourceId,
                                        final int maxWidth, final int maxHeight) throws IOException {
-        Pair<Integer, Integer> imageDimensions = getImageDimensions(context, resourceId);
-        int sampleSize = getSampleSize(imageDimensions, maxWidth, maxHeight);
+        return loadThumbnail(context, resourceId, maxWidth, maxHeight, null);
+    }
+
+    /**
+     * Loads a downsampled thumbnail of a specific image resource while maintaining its aspect
+     * ratio. If possible, the memory of a bitmap, which is contained by a specific pool, is reused
+     * instead of allocating a new bitmap. The thumbnail is mutable and should be added to the
+     * pool, once it is not used anymore.
+     *
+     * @param context
+     *         The context, which should be used, as an instance of the class {@link Context}. The
+     *         context may not be null
+     * @param resourceId
+     *         The resource id of the image resource, which should be loaded, as an {@link Integer}
+     *         value. The resource id must correspond to a valid drawable resource
+     * @param maxWidth
+     *         The maximum width of the thumbnail in pixels as an {@link Integer} value. The maximum
+     *         width must be at least 1
+     * @param maxHeight
+     *         The maximum height of the thumbnail in pixels as an {@link Integer} value. The
+     *         maximum height must be at least 1
+     * @param pool
+     *         The pool, which contains the bitmaps, which may be reused, as an instance of the
+     *         class {@link BitmapPool} or null, if no bitmaps should be reused
+     * @return The thumbnail, which has been loaded, as an instance of the class {@link Bitmap}
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while decoding the image resource
+     */
+    public static Bitmap loadThumbnail(@NonNull Context context, @DrawableRes final int resourceId,
+                                       final int maxWidth, final int maxHeight,
+                                       @Nullable final BitmapPool pool) throws IOException {
+        return loadThumbnail(context, resourceId, maxWidth, maxHeight, false, null, pool);
+    }
+
+    /**
+     * Loads a thumbnail of a specific image resource while maintaining its aspect ratio. If the
+     * thumbnail should have exactly the maximum size, the image is downsampled and scaled while
+     * being decoded. In such case, the density of the resource is ignored. This avoids to resize
+     * the thumbnail afterwards. If possible, the memory of a bitmap, which is contained by a
+     * specific pool, is reused instead of allocating a new bitmap.
+     *
+     * @param context
+     *         The context, which should be used, as an instance of the class {@link Context}. The
+     *         context may not be null
+     * @param resourceId
+     *         The resource id of the image resource, which should be loaded, as an {@link Integer}
+     *         value. The resource id must correspond to a valid drawable resource
+     * @param maxWidth
+     *         The maximum width of the thumbnail in pixels as an {@link Integer} value. The maximum
+     *         width must be at least 1
+     * @param maxHeight
+     *         The maximum height of the thumbnail in pixels as an {@link Integer} value. The
+     *         maximum height must be at least 1
+     * @param exactSize
+     *         True, if the thumbnail should be scaled to exactly fit the maximum width or height,
+     *         false, if only power-of-two downsampling should be used. In the latter case, the
+     *         thumbnail may be up to twice as large as the maximum size in each dimension
+     * @param config
+     *         The config, which should preferably be used by the thumbnail, as a value of the enum
+     *         {@link Bitmap.Config} or null, if the default config should be used. The config
+     *         <code>RGB_565</code> is only used for JPEG images, as they are always opaque. The
+     *         config <code>HARDWARE</code> prevents bitmaps from being reused
+     * @param pool
+     *         The pool, which contains the bitmaps, which may be reused, as an instance of the
+     *         class {@link BitmapPool} or null, if no bitmaps should be reused
+     * @return The thumbnail, which has been loaded, as an instance of the class {@link Bitmap}
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while decoding the image resource
+     */
+    public static Bitmap loadThumbnail(@NonNull Context context, @DrawableRes final int resourceId,
+                                       final int maxWidth, final int maxHeight,
+                                       final boolean exactSize,
+                                       @Nullable final Bitmap.Config config,
+                                       @Nullable final BitmapPool pool) throws IOException {
+        Condition.INSTANCE.ensureNotNull(context, "The context may not be null");
         BitmapFactory.Options options = new BitmapFactory.Options();
-        options.inJustDecodeBounds = false;
-        options.inSampleSize = sampleSize;
-        Bitmap thumbnail =
-                BitmapFactory.decodeResource(context.getResources(), resourceId, options);
+        options.inJustDecodeBounds = true;
+        options.inScaled = !exactSize;
+        BitmapFactory.decodeResource(context.getResources(), resourceId, options);
+
+        if (options.outWidth == -1 || options.outHeight == -1) {
+            throw new IOException("Failed to decode image resource with id " + resourceId);
+        }
+
+        boolean scaled = prepareOptions(options, maxWidth, maxHeight, exactSize, config, pool);
+        Bitmap thumbnail = decodeResource(context, resourceId, options, pool);
 
         if (thumbnail == null) {
             throw new IOException("Failed to decode image resource with id " + resourceId);
         }
 
+        if (scaled || exactSize) {
+            thumbnail.setDensity(Bitmap.DENSITY_NONE);
+        }
+
         return thumbnail;
     }
 
     /**
-     * Compresses a specific bitmap and stores it within a file.
+     * Loads downsampled thumbnails of multiple image files in parallel and passes each thumbnail
+     * to a callback as soon as it has been loaded. The number of threads corresponds to the number
+     * of available processors. The memory, which is used by thumbnails, which are loaded
+     * concurrently, is bounded to a quarter of the maximum heap size. This method blocks, until
+     * all thumbnails have been loaded and should therefore not be called on the UI thread.
+     *
+     * @param files
+     *         A collection, which contains the image files, which should be loaded, as an instance
+     *         of the type {@link Collection}. The collection may not be null. Each file must exist
+     *         and must not be a directory
+     * @param maxWidth
+     *         The maximum width of the thumbnails in pixels as an {@link Integer} value. The
+     *         maximum width must be at least 1
+     * @param maxHeight
+     *         The maximum height of the thumbnails in pixels as an {@link Integer} value. The
+     *         maximum height must be at least 1
+     * @param callback
+     *         The callback, the thumbnails should be passed to, as an instance of the type {@link
+     *         ThumbnailCallback}. The callback may not be null
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted while
+     *         waiting for the thumbnails to be loaded
+     */
+    public static void loadThumbnails(@NonNull final Collection<File> files, final int maxWidth,
+                                      final int maxHeight,
+                                      @NonNull final ThumbnailCallback callback)
+            throws InterruptedException {
+        loadThumbnails(files, maxWidth, maxHeight, Runtime.getRuntime().maxMemory() / 4,
+                callback);
+    }
+
+    /**
+     * Loads downsampled thumbnails of multiple image files in parallel and passes each thumbnail
+     * to a callback as soon as it has been loaded. The number of threads corresponds to the number
+     * of available processors. The memory, which is used by thumbnails, which are loaded
+     * concurrently, is bounded to a specific number of bytes. It is estimated from the dimensions
+     * of the image files. A thumbnail, which exceeds the maximum memory on its own, is only loaded,
+     * if no other thumbnails are loaded at the same time. This method blocks, until all thumbnails
+     * have been loaded and should therefore not be called on the UI thread. Errors, which occur
+     * while loading a thumbnail, are passed to the callback. If the callback throws an exception
+     * itself, the exception is rethrown by this method, once all thumbnails have been processed.
+     *
+     * @param files
+     *         A collection, which contains the image files, which should be loaded, as an instance
+     *         of the type {@link Collection}. The collection may not be null. Each file must exist
+     *         and must not be a directory
+     * @param maxWidth
+     *         The maximum width of the thumbnails in pixels as an {@link Integer} value. The
+     *         maximum width must be at least 1
+     * @param maxHeight
+     *         The maximum height of the thumbnails in pixels as an {@link Integer} value. The
+     *         maximum height must be at least 1
+     * @param maxMemory
+     *         The maximum memory, which may be used by thumbnails, which are loaded concurrently,
+     *         in bytes as a {@link Long} value. The maximum memory must be at least 1
+     * @param callback
+     *         The callback, the thumbnails should be passed to, as an instance of the type {@link
+     *         ThumbnailCallback}. The callback may not be null
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted while
+     *         waiting for the thumbnails to be loaded
+     */
+    public static void loadThumbnails(@NonNull final Collection<File> files, final int maxWidth,
+                                      final int maxHeight, final long maxMemory,
+                                      @NonNull final ThumbnailCallback callback)
+            throws InterruptedException {
+        Condition.INSTANCE.ensureNotNull(files, "The collection may not be null");
+        Condition.INSTANCE.ensureAtLeast(maxWidth, 1, "The maximum width must be at least 1");
+        Condition.INSTANCE.ensureAtLeast(maxHeight, 1, "The maximum height must be at least 1");
+        Condition.INSTANCE.ensureAtLeast(maxMemory, 1, "The maximum memory must be at least 1");
+        Condition.INSTANCE.ensureNotNull(callback, "The callback may not be null");
+
+        for (File file : files) {
+            Condition.INSTANCE.ensureNotNull(file, "The file may not be null");
+            Condition.INSTANCE.ensureFileIsNoDirectory(file,
+                    "The file must exist and must not be a directory");
+        }
+
+        if (files.isEmpty()) {
+            return;
+        }
+
+        int threadCount =
+                Math.min(files.size(), Math.max(1, Runtime.getRuntime().availableProcessors()));
+        final int maxPermits = (int) Math.min(Integer.MAX_VALUE, Math.max(1, maxMemory / 1024));
+        final Semaphore semaphore = new Semaphore(maxPermits, true);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>> futures = new ArrayList<>(files.size());
+
+        try {
+            for (final File file : files) {
+                futures.add(executorService.submit(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        loadThumbnail(file, maxWidth, maxHeight, semaphore, maxPermits, callback);
+                    }
+
+                }));
+            }
+
+            executorService.shutdown();
+            executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+
+                throw cause instanceof RuntimeException ? (RuntimeException) cause :
+                        new RuntimeException(cause);
+            }
+        }
+    }
+
+    /**
+     * Decodes a specific region of an image file. Only the given region is decoded, i.e. the
+     * image is never loaded into memory completely. This allows to display parts of very large
+     * images, e.g. panoramas or scans. If the given region exceeds the bounds of the image, it is
+     * clipped.
+     *
+     * @param file
+     *         The image file, which should be decoded, as an instance of the class {@link File}.
+     *         The file may not be null. The file must exist and must not be a directory. It must
+     *         either be a JPEG, PNG or WebP image
+     * @param region
+     *         The region of the image, which should be decoded, in pixels as an instance of the
+     *         class {@link Rect}. The region may not be null and must intersect with the image
+     * @param sampleSize
+     *         The sample size, which should be used to downsample the region, as an {@link
+     *         Integer} value. The sample size must be at least 1
+     * @return The region, which has been decoded, as an instance of the class {@link Bitmap}
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while decoding the image file
+     */
+    public static Bitmap loadRegion(@NonNull final File file, @NonNull final Rect region,
+                                    final int sampleSize) throws IOException {
+        Condition.INSTANCE.ensureNotNull(file, "The file may not be null");
+        Condition.INSTANCE
+                .ensureFileIsNoDirectory(file, "The file must exist and must not be a directory");
+        Condition.INSTANCE.ensureNotNull(region, "The region may not be null");
+        Condition.INSTANCE.ensureAtLeast(sampleSize, 1, "The sample size must be at least 1");
+        String path = file.getAbsolutePath();
+        BitmapRegionDecoder decoder = BitmapRegionDecoder.newInstance(path, false);
+
+        if (decoder == null) {
+            throw new IOException("Failed to decode image \"" + path + "\"");
+        }
+
+        try {
+            Rect clippedRegion = new Rect(region);
+            Condition.INSTANCE.ensureTrue(
+                    clippedRegion.intersect(0, 0, decoder.getWidth(), decoder.getHeight()),
+                    "The region must intersect with the image");
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inSampleSize = sampleSize;
+            Bitmap bitmap = decoder.decodeRegion(clippedRegion, options);
+
+            if (bitmap == null) {
+                throw new IOException(
+                        "Failed to decode region " + clippedRegion + " of image \"" + path +
+                                "\"");
+            }
+
+            return bitmap;
+        } finally {
+            decoder.recycle();
+        }
+    }
+
+    /**
+     * Compresses a specific bitmap and stores it within a file. The bitmap is written to a
+     * temporary file first, which is renamed once it has been written completely. Therefore, the
+     * given file is never left in a partially written state.
      *
      * @param bitmap
      *         The bitmap, which should be compressed, as an instance of the class {@link Bitmap}.
@@ -798,19 +1655,62 @@ public final class BitmapUtil {
         Condition.INSTANCE.ensureNotNull(format, "The format may not be null");
         Condition.INSTANCE.ensureAtLeast(quality, 0, "The quality must be at least 0");
         Condition.INSTANCE.ensureAtMaximum(quality, 100, "The quality must be at maximum 100");
+        File tempFile = new File(file.getPath() + TEMP_FILE_SUFFIX);
         OutputStream outputStream = null;
 
         try {
-            outputStream = new FileOutputStream(file);
-            boolean result = bitmap.compress(format, quality, outputStream);
+            outputStream = new BufferedOutputStream(new FileOutputStream(tempFile), BUFFER_SIZE);
+            compressToStream(bitmap, format, quality, outputStream);
+            outputStream.close();
+            outputStream = null;
 
-            if (!result) {
-                throw new IOException(
-                        "Failed to compress bitmap to file \"" + file + "\" using format " +
-                                format + " and quality " + quality);
+            if (!tempFile.renameTo(file)) {
+                throw new IOException("Failed to rename file \"" + tempFile + "\"");
             }
         } finally {
             StreamUtil.INSTANCE.close(outputStream);
+
+            if (tempFile.exists()) {
+                tempFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Compresses a specific bitmap and writes it to a specific output stream. The stream is
+     * neither buffered, nor closed by this method.
+     *
+     * @param bitmap
+     *         The bitmap, which should be compressed, as an instance of the class {@link Bitmap}.
+     *         The bitmap may not be null
+     * @param format
+     *         The format, which should be used to compress the bitmap, as a value of the enum
+     *         {@link CompressFormat}. The format must either be <code>JPEG</code>, <code>PNG</code>
+     *         or <code>WEBP</code>
+     * @param quality
+     *         The quality, which should be used to compress the bitmap, as an {@link Integer}
+     *         value. The quality must be at least 0 (lowest quality) and at maximum 100 (highest
+     *         quality)
+     * @param outputStream
+     *         The output stream, the compressed bitmap should be written to, as an instance of the
+     *         class {@link OutputStream}. The output stream may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while compressing the bitmap
+     */
+    public static void compressToStream(@NonNull final Bitmap bitmap,
+                                        @NonNull final CompressFormat format, final int quality,
+                                        @NonNull final OutputStream outputStream)
+            throws IOException {
+        Condition.INSTANCE.ensureNotNull(bitmap, "The bitmap may not be null");
+        Condition.INSTANCE.ensureNotNull(format, "The format may not be null");
+        Condition.INSTANCE.ensureAtLeast(quality, 0, "The quality must be at least 0");
+        Condition.INSTANCE.ensureAtMaximum(quality, 100, "The quality must be at maximum 100");
+        Condition.INSTANCE.ensureNotNull(outputStream, "The output stream may not be null");
+        boolean result = bitmap.compress(format, quality, outputStream);
+
+        if (!result) {
+            throw new IOException("Failed to compress bitmap using format " + format +
+                    " and quality " + quality);
         }
     }
 
@@ -837,23 +1737,77 @@ public final class BitmapUtil {
                                              final int quality) throws IOException {
         Condition.INSTANCE.ensureNotNull(bitmap, "The bitmap may not be null");
         Condition.INSTANCE.ensureNotNull(format, "The format may not be null");
-        Condition.INSTANCE.ensureAtLeast(quality, 0, "The quality must be at least 0");
-        Condition.INSTANCE.ensureAtMaximum(quality, 100, "The quality must be at maximum 100");
-        ByteArrayOutputStream outputStream = null;
-
-        try {
-            outputStream = new ByteArrayOutputStream();
-            boolean result = bitmap.compress(format, quality, outputStream);
+        return compressToByteArray(bitmap, format, quality,
+                estimateCompressedSize(bitmap, format));
+    }
 
-            if (result) {
-                return outputStream.toByteArray();
-            }
+    /**
+     * Compresses a specific bitmap and returns it as a byte array. A specific capacity is
+     * allocated up front. If the compressed bitmap exactly matches the capacity, the byte array
+     * is returned without being copied.
+     *
+     * @param bitmap
+     *         The bitmap, which should be compressed, as an instance of the class {@link Bitmap}.
+     *         The bitmap may not be null
+     * @param format
+     *         The format, which should be used to compress the bitmap, as a value of the enum
+     *         {@link CompressFormat}. The format must either be <code>JPEG</code>, <code>PNG</code>
+     *         or <code>WEBP</code>
+     * @param quality
+     *         The quality, which should be used to compress the bitmap, as an {@link Integer}
+     *         value. The quality must be at least 0 (lowest quality) and at maximum 100 (highest
+     *         quality)
+     * @param capacityHint
+     *         The expected size of the compressed bitmap in bytes as an {@link Integer} value. The
+     *         size must be at least 1
+     * @return The byte array, the given bitmap has been compressed to, as a {@link Byte} array
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while compressing the bitmap
+     */
+    public static byte[] compressToByteArray(@NonNull final Bitmap bitmap,
+                                             @NonNull final CompressFormat format,
+                                             final int quality, final int capacityHint)
+            throws IOException {
+        Condition.INSTANCE.ensureAtLeast(capacityHint, 1, "The capacity hint must be at least 1");
+        CompressionOutputStream outputStream = new CompressionOutputStream(capacityHint);
+        compressToStream(bitmap, format, quality, outputStream);
+        return outputStream.getBytes();
+    }
 
-            throw new IOException("Failed to compress bitmap to byte array using format " + format +
-                    " and quality " + quality);
-        } finally {
-            StreamUtil.INSTANCE.close(outputStream);
-        }
+    /**
+     * Compresses a specific bitmap and returns it as a byte buffer. Unlike the method {@link
+     * #compressToByteArray(Bitmap, CompressFormat, int, int)}, the compressed bytes are not copied,
+     * unless more than a quarter of the allocated capacity is unused. The capacity of the returned
+     * buffer's backing array may therefore exceed its limit.
+     *
+     * @param bitmap
+     *         The bitmap, which should be compressed, as an instance of the class {@link Bitmap}.
+     *         The bitmap may not be null
+     * @param format
+     *         The format, which should be used to compress the bitmap, as a value of the enum
+     *         {@link CompressFormat}. The format must either be <code>JPEG</code>, <code>PNG</code>
+     *         or <code>WEBP</code>
+     * @param quality
+     *         The quality, which should be used to compress the bitmap, as an {@link Integer}
+     *         value. The quality must be at least 0 (lowest quality) and at maximum 100 (highest
+     *         quality)
+     * @param capacityHint
+     *         The expected size of the compressed bitmap in bytes as an {@link Integer} value. The
+     *         size must be at least 1
+     * @return The byte buffer, the given bitmap has been compressed to, as an instance of the
+     * class {@link ByteBuffer}. Its position is 0 and its limit corresponds to the size of the
+     * compressed bitmap
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while compressing the bitmap
+     */
+    public static ByteBuffer compressToByteBuffer(@NonNull final Bitmap bitmap,
+                                                  @NonNull final CompressFormat format,
+                                                  final int quality, final int capacityHint)
+            throws IOException {
+        Condition.INSTANCE.ensureAtLeast(capacityHint, 1, "The capacity hint must be at least 1");
+        CompressionOutputStream outputStream = new CompressionOutputStream(capacityHint);
+        compressToStream(bitmap, format, quality, outputStream);
+        return outputStream.getByteBuffer();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2015 - 2019 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.util.cache;
+
+import android.annotation.TargetApi;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.os.Build;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.TreeMap;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import de.mrapp.util.Condition;
+
+/**
+ * A pool, which keeps bitmaps, which are not used anymore, in order to reuse their memory when
+ * decoding other images by using the option <code>inBitmap</code> of the class {@link
+ * android.graphics.BitmapFactory.Options}. This avoids allocating large pixel buffers, e.g. when
+ * displaying thumbnails in a scrolling list.
+ * <p>
+ * Bitmaps are grouped in buckets according to their size in bytes. On devices with API level 19
+ * or greater, a bitmap can be reused for any image, whose size does not exceed the size of the
+ * bitmap. On older devices, a bitmap can only be reused for images with exactly the same width,
+ * height and config. The total size of all pooled bitmaps is bounded. When exceeding the maximum
+ * size, the least recently pooled bitmaps are recycled. All methods are thread-safe.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class BitmapPool {
+
+    /**
+     * The maximum factor, the size of a bitmap may exceed the size of the image, it is reused
+     * for. Reusing much larger bitmaps would waste memory.
+     */
+    private static final int MAX_SIZE_MULTIPLE = 8;
+
+    /**
+     * The maximum size of the pool in bytes.
+     */
+    private final int maxSize;
+
+    /**
+     * A sorted map, which contains the pooled bitmaps, grouped by their size in bytes.
+     */
+    private final TreeMap<Integer, LinkedList<Bitmap>> buckets;
+
+    /**
+     * A set, which contains all pooled bitmaps in the order they have been added.
+     */
+    private final LinkedHashSet<Bitmap> bitmaps;
+
+    /**
+     * The size of all pooled bitmaps in bytes.
+     */
+    private int size;
+
+    /**
+     * The number of requests, which could be served by a pooled bitmap.
+     */
+    private long hitCount;
+
+    /**
+     * The number of requests, which could not be served by a pooled bitmap.
+     */
+    private long missCount;
+
+    /**
+     * Returns the number of bytes, which are needed to store a single pixel using a specific
+     * config.
+     *
+     * @param config
+     *         The config as a value of the enum {@link Bitmap.Config}. The config may not be null
+     * @return The number of bytes, which are needed to store a single pixel, as an {@link Integer}
+     * value
+     */
+    private static int getBytesPerPixel(@NonNull final Bitmap.Config config) {
+        switch (config) {
+            case ALPHA_8:
+                return 1;
+            case RGB_565:
+            case ARGB_4444:
+                return 2;
+            case RGBA_F16:
+                return 8;
+            default:
+                return 4;
+        }
+    }
+
+    /**
+     * Returns the size of a specific bitmap in bytes. On devices with API level 19 or greater,
+     * this corresponds to the size of the memory, which has been allocated for the bitmap's
+     * pixels, which may be greater than the size, which is needed by its current dimensions.
+     *
+     * @param bitmap
+     *         The bitmap, whose size should be returned, as an instance of the class {@link
+     *         Bitmap}. The bitmap may not be null
+     * @return The size of the given bitmap in bytes as an {@link Integer} value
+     */
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    private static int getSize(@NonNull final Bitmap bitmap) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            return bitmap.getAllocationByteCount();
+        }
+
+        return bitmap.getByteCount();
+    }
+
+    /**
+     * Returns, whether a specific pooled bitmap can be reused for an image with a specific width,
+     * height and config.
+     *
+     * @param bitmap
+     *         The pooled bitmap as an instance of the class {@link Bitmap}. The bitmap may not be
+     *         null
+     * @param width
+     *         The width of the image in pixels as an {@link Integer} value
+     * @param height
+     *         The height of the image in pixels as an {@link Integer} value
+     * @param config
+     *         The config of the image as a value of the enum {@link Bitmap.Config}. The config may
+     *         not be null
+     * @return True, if the given bitmap can be reused, false otherwise
+     */
+    private static boolean canReuse(@NonNull final Bitmap bitmap, final int width,
+                                    final int height, @NonNull final Bitmap.Config config) {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT ||
+                (bitmap.getWidth() == width && bitmap.getHeight() == height &&
+                        bitmap.getConfig() == config);
+    }
+
+    /**
+     * Removes a specific bitmap from the bucket, it belongs to.
+     *
+     * @param bitmap
+     *         The bitmap, which should be removed, as an instance of the class {@link Bitmap}. The
+     *         bitmap may not be null
+     * @param bitmapSize
+     *         The size of the bitmap in bytes as an {@link Integer} value
+     */
+    private void removeFromBucket(@NonNull final Bitmap bitmap, final int bitmapSize) {
+        LinkedList<Bitmap> bucket = buckets.get(bitmapSize);
+
+        if (bucket != null) {
+            bucket.remove(bitmap);
+
+            if (bucket.isEmpty()) {
+                buckets.remove(bitmapSize);
+            }
+        }
+    }
+
+    /**
+     * Recycles the least recently pooled bitmaps, until the size of the pool is less than or
+     * equal to a specific size.
+     *
+     * @param maxSize
+     *         The size, the pool should be trimmed to, in bytes as an {@link Integer} value
+     */
+    private synchronized void evict(final int maxSize) {
+        Iterator<Bitmap> iterator = bitmaps.iterator();
+
+        while (size > maxSize && iterator.hasNext()) {
+            Bitmap bitmap = iterator.next();
+            int bitmapSize = getSize(bitmap);
+            iterator.remove();
+            removeFromBucket(bitmap, bitmapSize);
+            size -= bitmapSize;
+            bitmap.recycle();
+        }
+    }
+
+    /**
+     * Creates a new pool.
+     *
+     * @param maxSize
+     *         The maximum size of the pool in bytes as an {@link Integer} value. The maximum size
+     *         must be at least 1
+     */
+    public BitmapPool(final int maxSize) {
+        Condition.INSTANCE.ensureAtLeast(maxSize, 1, "The maximum size must be at least 1");
+        this.maxSize = maxSize;
+        this.buckets = new TreeMap<>();
+        this.bitmaps = new LinkedHashSet<>();
+        this.size = 0;
+        this.hitCount = 0;
+        this.missCount = 0;
+    }
+
+    /**
+     * Adds a specific bitmap, which is not used anymore, to the pool. Only mutable bitmaps can be
+     * reused. Bitmaps, which cannot be pooled, e.g. because they are immutable or larger than the
+     * pool, are recycled. The bitmap must not be used by the caller afterwards.
+     *
+     * @param bitmap
+     *         The bitmap, which should be added, as an instance of the class {@link Bitmap}. The
+     *         bitmap may not be null
+     * @return True, if the bitmap has been added to the pool, false, if it has been recycled
+     */
+    public final boolean put(@NonNull final Bitmap bitmap) {
+        Condition.INSTANCE.ensureNotNull(bitmap, "The bitmap may not be null");
+
+        if (bitmap.isRecycled()) {
+            return false;
+        }
+
+        int bitmapSize = getSize(bitmap);
+
+        if (!bitmap.isMutable() || bitmap.getConfig() == null || bitmapSize > maxSize) {
+            bitmap.recycle();
+            return false;
+        }
+
+        synchronized (this) {
+            if (bitmaps.add(bitmap)) {
+                LinkedList<Bitmap> bucket = buckets.get(bitmapSize);
+
+                if (bucket == null) {
+                    bucket = new LinkedList<>();
+                    buckets.put(bitmapSize, bucket);
+                }
+
+                bucket.add(bitmap);
+                size += bitmapSize;
+            }
+        }
+
+        evict(maxSize);
+        return true;
+    }
+
+    /**
+     * Removes a bitmap, which can be reused for an image with a specific width, height and config,
+     * from the pool. The pixels of the bitmap are not erased. Therefore the returned bitmap should
+     * only be used as the option <code>inBitmap</code> of the class {@link
+     * android.graphics.BitmapFactory.Options}, or if all of its pixels are overwritten.
+     *
+     * @param width
+     *         The width of the image in pixels as an {@link Integer} value. The width must be at
+     *         least 1
+     * @param height
+     *         The height of the image in pixels as an {@link Integer} value. The height must be at
+     *         least 1
+     * @param config
+     *         The config of the image as a value of the enum {@link Bitmap.Config}. The config may
+     *         not be null
+     * @return The bitmap, which has been removed from the pool, as an instance of the class {@link
+     * Bitmap} or null, if the pool does not contain a suitable bitmap
+     */
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    @Nullable
+    public final Bitmap getDirty(final int width, final int height,
+                                 @NonNull final Bitmap.Config config) {
+        Condition.INSTANCE.ensureAtLeast(width, 1, "The width must be at least 1");
+        Condition.INSTANCE.ensureAtLeast(height, 1, "The height must be at least 1");
+        Condition.INSTANCE.ensureNotNull(config, "The config may not be null");
+        long requiredSize = (long) width * height * getBytesPerPixel(config);
+
+        synchronized (this) {
+            Map.Entry<Integer, LinkedList<Bitmap>> entry =
+                    requiredSize <= Integer.MAX_VALUE ? buckets.ceilingEntry((int) requiredSize) :
+                            null;
+
+            while (entry != null && entry.getKey() <= requiredSize * MAX_SIZE_MULTIPLE) {
+                Iterator<Bitmap> iterator = entry.getValue().iterator();
+
+                while (iterator.hasNext()) {
+                    Bitmap bitmap = iterator.next();
+
+                    if (canReuse(bitmap, width, height, config)) {
+                        iterator.remove();
+
+                        if (entry.getValue().isEmpty()) {
+                            buckets.remove(entry.getKey());
+                        }
+
+                        bitmaps.remove(bitmap);
+                        size -= entry.getKey();
+                        hitCount++;
+
+                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+                            bitmap.reconfigure(width, height, config);
+                        }
+
+                        return bitmap;
+                    }
+                }
+
+                if (Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT) {
+                    break;
+                }
+
+                entry = buckets.higherEntry(entry.getKey());
+            }
+
+            missCount++;
+            return null;
+        }
+    }
+
+    /**
+     * Removes a bitmap with a specific width, height and config from the pool. All pixels of the
+     * bitmap are erased.
+     *
+     * @param width
+     *         The width of the bitmap in pixels as an {@link Integer} value. The width must be at
+     *         least 1
+     * @param height
+     *         The height of the bitmap in pixels as an {@link Integer} value. The height must be
+     *         at least 1
+     * @param config
+     *         The config of the bitmap as a value of the enum {@link Bitmap.Config}. The config
+     *         may not be null
+     * @return The bitmap, which has been removed from the pool, as an instance of the class {@link
+     * Bitmap} or null, if the pool does not contain a suitable bitmap
+     */
+    @Nullable
+    public final Bitmap get(final int width, final int height,
+                            @NonNull final Bitmap.Config config) {
+        Bitmap bitmap = getDirty(width, height, config);
+
+        if (bitmap != null) {
+            bitmap.eraseColor(Color.TRANSPARENT);
+        }
+
+        return bitmap;
+    }
+
+    /**
+     * Recycles the least recently pooled bitmaps, until the size of the pool is less than or
+     * equal to a specific size. The maximum size of the pool is not changed.
+     *
+     * @param size
+     *         The size, the pool should be trimmed to, in bytes as an {@link Integer} value. The
+     *         size must be at least 0
+     */
+    public final void trimToSize(final int size) {
+        Condition.INSTANCE.ensureAtLeast(size, 0, "The size must be at least 0");
+        evict(size);
+    }
+
+    /**
+     * Recycles all pooled bitmaps.
+     */
+    public final void clear() {
+        evict(0);
+    }
+
+    /**
+     * Returns the size of all pooled bitmaps.
+     *
+     * @return The size of all pooled bitmaps in bytes as an {@link Integer} value
+     */
+    public final synchronized int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum size of the pool.
+     *
+     * @return The maximum size of the pool in bytes as an {@link Integer} value
+     */
+    public final int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of requests, which could be served by a pooled bitmap.
+     *
+     * @return The number of requests, which could be served by a pooled bitmap, as a {@link Long}
+     * value
+     */
+    public final synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of requests, which could not be served by a pooled bitmap.
+     *
+     * @return The number of requests, which could not be served by a pooled bitmap, as a {@link
+     * Long} value
+     */
+    public final synchronized long getMissCount() {
+        return missCount;
+    }
+
+}
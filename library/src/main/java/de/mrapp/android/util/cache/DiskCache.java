@@ -0,0 +1,777 @@
+/*
+ * Copyright 2015 - 2019 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.util.cache;
+
+import android.content.Context;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import de.mrapp.android.util.logging.LogLevel;
+import de.mrapp.android.util.logging.Logger;
+import de.mrapp.util.Condition;
+import de.mrapp.util.StreamUtil;
+
+/**
+ * A cache, which stores data in files within a specific directory. The total size of all files is
+ * bounded. When exceeding the maximum size, the least recently used files are deleted. Data is
+ * converted to and from bytes by using a {@link Serializer}.
+ * <p>
+ * Data is written asynchronously by a background thread. Each file is written to a temporary file
+ * first, which is renamed once it has been written completely. All modifications are recorded in a
+ * journal, which allows to restore the cache's state, including the order in which entries have
+ * been used, after the process has been restarted. Files, which are not referenced by the journal,
+ * e.g. because the process died while writing them, are deleted.
+ * <p>
+ * The file names of entries are derived from the values, which are returned by the
+ * <code>toString</code>-method of their keys. Therefore these values must uniquely identify the
+ * keys and must not change across process restarts.
+ *
+ * @param <KeyType>
+ *         The type of the keys, which are used to identify cached data
+ * @param <DataType>
+ *         The type of the cached data
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class DiskCache<KeyType, DataType> {
+
+    /**
+     * Defines the interface, a class, which allows to convert data to bytes and vice versa, must
+     * implement.
+     *
+     * @param <DataType>
+     *         The type of the data, which is converted
+     */
+    public interface Serializer<DataType> {
+
+        /**
+         * The method, which is invoked in order to write specific data to a stream.
+         *
+         * @param data
+         *         The data, which should be written, as an instance of the generic type DataType.
+         *         The data may not be null
+         * @param outputStream
+         *         The stream, the data should be written to, as an instance of the class {@link
+         *         OutputStream}. The stream may not be null
+         * @throws IOException
+         *         The exception, which is thrown, if an error occurs while writing the data
+         */
+        void serialize(@NonNull DataType data, @NonNull OutputStream outputStream)
+                throws IOException;
+
+        /**
+         * The method, which is invoked in order to read data from a stream.
+         *
+         * @param inputStream
+         *         The stream, the data should be read from, as an instance of the class {@link
+         *         InputStream}. The stream may not be null
+         * @return The data, which has been read, as an instance of the generic type DataType. The
+         * data may not be null
+         * @throws IOException
+         *         The exception, which is thrown, if an error occurs while reading the data
+         */
+        @NonNull
+        DataType deserialize(@NonNull InputStream inputStream) throws IOException;
+
+    }
+
+    /**
+     * The name of the journal file.
+     */
+    private static final String JOURNAL_FILE_NAME = "journal";
+
+    /**
+     * The suffix of temporary files.
+     */
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    /**
+     * The first line of a journal file.
+     */
+    private static final String JOURNAL_HEADER = "DiskCache 1";
+
+    /**
+     * The journal operation, which indicates, that an entry has been written completely.
+     */
+    private static final String OPERATION_CLEAN = "CLEAN";
+
+    /**
+     * The journal operation, which indicates, that an entry has been removed.
+     */
+    private static final String OPERATION_REMOVE = "REMOVE";
+
+    /**
+     * The journal operation, which indicates, that an entry has been read.
+     */
+    private static final String OPERATION_READ = "READ";
+
+    /**
+     * The number of redundant journal operations, which cause the journal to be rebuilt.
+     */
+    private static final int MAX_REDUNDANT_OPERATIONS = 2000;
+
+    /**
+     * The size of the buffers, which are used to read and write files, in bytes.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The directory, the cache's files are stored in.
+     */
+    private final File directory;
+
+    /**
+     * The maximum size of the cache in bytes.
+     */
+    private final long maxSize;
+
+    /**
+     * The serializer, which is used to convert data to bytes and vice versa.
+     */
+    private final Serializer<DataType> serializer;
+
+    /**
+     * The logger, which is used by the cache.
+     */
+    private final Logger logger;
+
+    /**
+     * The executor service, which is used to write data asynchronously.
+     */
+    private final ExecutorService writeExecutor;
+
+    /**
+     * A map, which contains the data, which has not been written yet, by the names of the
+     * corresponding files.
+     */
+    private final ConcurrentHashMap<String, DataType> pendingWrites;
+
+    /**
+     * A map, which contains the sizes of all files, which are contained by the cache, by their
+     * names. The entries are ordered by their last access, starting with the least recently used
+     * one.
+     */
+    private final LinkedHashMap<String, Long> entries;
+
+    /**
+     * The current size of the cache in bytes.
+     */
+    private long size;
+
+    /**
+     * The number of operations, which have been written to the journal, although they are not
+     * necessary to restore the cache's current state.
+     */
+    private int redundantOperationCount;
+
+    /**
+     * The writer, which is used to append operations to the journal.
+     */
+    private Writer journalWriter;
+
+    /**
+     * True, if the cache's state has been restored from the journal, false otherwise.
+     */
+    private boolean initialized;
+
+    /**
+     * Creates and returns a thread factory, which creates the thread, which is used to write data
+     * asynchronously.
+     *
+     * @return The thread factory, which has been created, as an instance of the type {@link
+     * ThreadFactory}. The thread factory may not be null
+     */
+    @NonNull
+    private static ThreadFactory createThreadFactory() {
+        return new ThreadFactory() {
+
+            @Override
+            public Thread newThread(@NonNull final Runnable runnable) {
+                Thread thread = new Thread(runnable, DiskCache.class.getSimpleName());
+                thread.setDaemon(true);
+                return thread;
+            }
+
+        };
+    }
+
+    /**
+     * Returns the sub-directory of the app's cache directory, which has a specific name.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the app's cache directory, as an
+     *         instance of the class {@link Context}. The context may not be null
+     * @param name
+     *         The name of the sub-directory as a {@link String}. The name may neither be null, nor
+     *         empty
+     * @return The sub-directory as an instance of the class {@link File}. The sub-directory may
+     * not be null
+     */
+    @NonNull
+    private static File getCacheDirectory(@NonNull final Context context,
+                                          @NonNull final String name) {
+        Condition.INSTANCE.ensureNotNull(context, "The context may not be null");
+        Condition.INSTANCE.ensureNotNull(name, "The name may not be null");
+        Condition.INSTANCE.ensureNotEmpty(name, "The name may not be empty");
+        return new File(context.getCacheDir(), name);
+    }
+
+    /**
+     * Restores the cache's state from the journal, if not already done.
+     */
+    private synchronized void initialize() {
+        if (!initialized) {
+            initialized = true;
+
+            if (!directory.exists() && !directory.mkdirs()) {
+                logger.logWarn(getClass(), "Failed to create directory \"" + directory + "\"");
+            }
+
+            readJournal();
+            deleteUnreferencedFiles();
+            rebuildJournal();
+            trimToSize();
+        }
+    }
+
+    /**
+     * Reads the journal in order to restore the cache's state. Reading stops at the first line,
+     * which is malformed, e.g. because the process died while writing it.
+     */
+    private void readJournal() {
+        File journalFile = new File(directory, JOURNAL_FILE_NAME);
+
+        if (journalFile.exists()) {
+            BufferedReader reader = null;
+
+            try {
+                reader = new BufferedReader(new FileReader(journalFile), BUFFER_SIZE);
+
+                if (JOURNAL_HEADER.equals(reader.readLine())) {
+                    String line;
+
+                    while ((line = reader.readLine()) != null) {
+                        if (!readJournalLine(line)) {
+                            break;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                logger.logWarn(getClass(), "Failed to read journal of cache \"" + directory + "\"",
+                        e);
+            } finally {
+                StreamUtil.INSTANCE.close(reader);
+            }
+        }
+    }
+
+    /**
+     * Applies a single line of the journal to the cache's state.
+     *
+     * @param line
+     *         The line, which should be applied, as a {@link String}. The line may not be null
+     * @return True, if the line has been applied, false, if it is malformed
+     */
+    private boolean readJournalLine(@NonNull final String line) {
+        String[] parts = line.split(" ");
+
+        if (parts.length == 3 && OPERATION_CLEAN.equals(parts[0])) {
+            try {
+                long fileSize = Long.parseLong(parts[2]);
+                Long previousSize = entries.put(parts[1], fileSize);
+                size += fileSize - (previousSize != null ? previousSize : 0);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        } else if (parts.length == 2 && OPERATION_REMOVE.equals(parts[0])) {
+            Long previousSize = entries.remove(parts[1]);
+            size -= previousSize != null ? previousSize : 0;
+            return true;
+        } else if (parts.length == 2 && OPERATION_READ.equals(parts[0])) {
+            entries.get(parts[1]);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Deletes all files, which are not referenced by the journal, and removes all entries, whose
+     * files do not exist or have an unexpected size.
+     */
+    private void deleteUnreferencedFiles() {
+        File[] files = directory.listFiles();
+
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+
+                if (!JOURNAL_FILE_NAME.equals(name) && !entries.containsKey(name) &&
+                        !file.delete()) {
+                    logger.logWarn(getClass(), "Failed to delete file \"" + file + "\"");
+                }
+            }
+        }
+
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            File file = new File(directory, entry.getKey());
+
+            if (file.length() != entry.getValue()) {
+                size -= entry.getValue();
+                iterator.remove();
+
+                if (file.exists() && !file.delete()) {
+                    logger.logWarn(getClass(), "Failed to delete file \"" + file + "\"");
+                }
+            }
+        }
+    }
+
+    /**
+     * Rewrites the journal, such that it only contains the operations, which are necessary to
+     * restore the cache's current state.
+     */
+    private void rebuildJournal() {
+        StreamUtil.INSTANCE.close(journalWriter);
+        journalWriter = null;
+        File journalFile = new File(directory, JOURNAL_FILE_NAME);
+        File tempFile = new File(directory, JOURNAL_FILE_NAME + TEMP_FILE_SUFFIX);
+        Writer writer = null;
+
+        try {
+            writer = new BufferedWriter(new FileWriter(tempFile), BUFFER_SIZE);
+            writer.write(JOURNAL_HEADER);
+            writer.write('\n');
+
+            for (Map.Entry<String, Long> entry : entries.entrySet()) {
+                writer.write(OPERATION_CLEAN + " " + entry.getKey() + " " + entry.getValue());
+                writer.write('\n');
+            }
+
+            writer.close();
+            writer = null;
+
+            if (!tempFile.renameTo(journalFile)) {
+                throw new IOException("Failed to rename file \"" + tempFile + "\"");
+            }
+
+            journalWriter = new BufferedWriter(new FileWriter(journalFile, true), BUFFER_SIZE);
+            redundantOperationCount = 0;
+        } catch (IOException e) {
+            logger.logWarn(getClass(), "Failed to write journal of cache \"" + directory + "\"",
+                    e);
+        } finally {
+            StreamUtil.INSTANCE.close(writer);
+        }
+    }
+
+    /**
+     * Appends a specific operation to the journal.
+     *
+     * @param operation
+     *         The operation, which should be appended, as a {@link String}. The operation may
+     *         neither be null, nor empty
+     * @param redundant
+     *         True, if the operation is not necessary to restore the cache's state, false
+     *         otherwise
+     * @param flush
+     *         True, if the journal should be flushed, false otherwise
+     */
+    private void appendJournal(@NonNull final String operation, final boolean redundant,
+                               final boolean flush) {
+        if (redundant) {
+            redundantOperationCount++;
+        }
+
+        if (redundantOperationCount >= MAX_REDUNDANT_OPERATIONS &&
+                redundantOperationCount >= entries.size()) {
+            rebuildJournal();
+        } else if (journalWriter != null) {
+            try {
+                journalWriter.write(operation);
+                journalWriter.write('\n');
+
+                if (flush) {
+                    journalWriter.flush();
+                }
+            } catch (IOException e) {
+                logger.logWarn(getClass(),
+                        "Failed to write journal of cache \"" + directory + "\"", e);
+                rebuildJournal();
+            }
+        }
+    }
+
+    /**
+     * Removes the entry, which corresponds to a file with a specific name.
+     *
+     * @param name
+     *         The name of the file, which corresponds to the entry, which should be removed, as a
+     *         {@link String}. The name may neither be null, nor empty
+     */
+    private synchronized void removeEntry(@NonNull final String name) {
+        Long fileSize = entries.remove(name);
+
+        if (fileSize != null) {
+            size -= fileSize;
+            File file = new File(directory, name);
+
+            if (file.exists() && !file.delete()) {
+                logger.logWarn(getClass(), "Failed to delete file \"" + file + "\"");
+            }
+
+            appendJournal(OPERATION_REMOVE + " " + name, true, true);
+        }
+    }
+
+    /**
+     * Removes the least recently used entries until the cache's size does not exceed the maximum
+     * size anymore.
+     */
+    private synchronized void trimToSize() {
+        while (size > maxSize && !entries.isEmpty()) {
+            removeEntry(entries.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Writes specific data to the file with a specific name. If the data has been removed or
+     * replaced in the meantime, the file is discarded instead of being added to the cache.
+     *
+     * @param name
+     *         The name of the file, the data should be written to, as a {@link String}. The name
+     *         may neither be null, nor empty
+     * @param data
+     *         The data, which should be written, as an instance of the generic type DataType. The
+     *         data may not be null
+     */
+    private void write(@NonNull final String name, @NonNull final DataType data) {
+        File tempFile = new File(directory, name + TEMP_FILE_SUFFIX);
+        OutputStream outputStream = null;
+
+        try {
+            initialize();
+            outputStream = new BufferedOutputStream(new FileOutputStream(tempFile), BUFFER_SIZE);
+            serializer.serialize(data, outputStream);
+            outputStream.close();
+            outputStream = null;
+
+            synchronized (this) {
+                if (pendingWrites.get(name) != data) {
+                    return;
+                }
+
+                File file = new File(directory, name);
+
+                if (!tempFile.renameTo(file)) {
+                    throw new IOException("Failed to rename file \"" + tempFile + "\"");
+                }
+
+                long fileSize = file.length();
+                Long previousSize = entries.put(name, fileSize);
+                size += fileSize - (previousSize != null ? previousSize : 0);
+                appendJournal(OPERATION_CLEAN + " " + name + " " + fileSize, previousSize != null,
+                        true);
+                trimToSize();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.logWarn(getClass(), "Failed to write file \"" + name + "\"", e);
+        } finally {
+            StreamUtil.INSTANCE.close(outputStream);
+
+            if (tempFile.exists() && !tempFile.delete()) {
+                logger.logWarn(getClass(), "Failed to delete file \"" + tempFile + "\"");
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the file, which corresponds to a specific key. By default, the name is
+     * the hexadecimal MD5 hash of the value, which is returned by the key's
+     * <code>toString</code>-method. This method may be overridden in order to derive file names
+     * differently. The returned names must not contain whitespace.
+     *
+     * @param key
+     *         The key, whose file name should be returned, as an instance of the generic type
+     *         KeyType. The key may not be null
+     * @return The name of the file, which corresponds to the given key, as a {@link String}. The
+     * name may neither be null, nor empty
+     */
+    @NonNull
+    protected String getFileName(@NonNull final KeyType key) {
+        String string = key.toString();
+
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("MD5");
+            byte[] hash = messageDigest.digest(string.getBytes("UTF-8"));
+            StringBuilder stringBuilder = new StringBuilder(hash.length * 2);
+
+            for (byte b : hash) {
+                stringBuilder.append(Character.forDigit((b >> 4) & 0xF, 16));
+                stringBuilder.append(Character.forDigit(b & 0xF, 16));
+            }
+
+            return stringBuilder.toString();
+        } catch (NoSuchAlgorithmException | IOException e) {
+            return Integer.toHexString(string.hashCode());
+        }
+    }
+
+    /**
+     * Creates a new cache, which stores its files in a sub-directory of the app's cache directory.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the app's cache directory, as an
+     *         instance of the class {@link Context}. The context may not be null
+     * @param name
+     *         The name of the sub-directory, the cache's files should be stored in, as a {@link
+     *         String}. The name may neither be null, nor empty
+     * @param maxSize
+     *         The maximum size of the cache in bytes as a {@link Long} value. The maximum size must
+     *         be at least 1
+     * @param serializer
+     *         The serializer, which should be used to convert data to bytes and vice versa, as an
+     *         instance of the type {@link Serializer}. The serializer may not be null
+     */
+    public DiskCache(@NonNull final Context context, @NonNull final String name,
+                     final long maxSize, @NonNull final Serializer<DataType> serializer) {
+        this(getCacheDirectory(context, name), maxSize, serializer);
+    }
+
+    /**
+     * Creates a new cache, which stores its files in a specific directory. The directory should
+     * not be used for other purposes, because files, which do not belong to the cache, are
+     * deleted.
+     *
+     * @param directory
+     *         The directory, the cache's files should be stored in, as an instance of the class
+     *         {@link File}. The directory may not be null
+     * @param maxSize
+     *         The maximum size of the cache in bytes as a {@link Long} value. The maximum size must
+     *         be at least 1
+     * @param serializer
+     *         The serializer, which should be used to convert data to bytes and vice versa, as an
+     *         instance of the type {@link Serializer}. The serializer may not be null
+     */
+    public DiskCache(@NonNull final File directory, final long maxSize,
+                     @NonNull final Serializer<DataType> serializer) {
+        Condition.INSTANCE.ensureNotNull(directory, "The directory may not be null");
+        Condition.INSTANCE.ensureAtLeast(maxSize, 1, "The maximum size must be at least 1");
+        Condition.INSTANCE.ensureNotNull(serializer, "The serializer may not be null");
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.serializer = serializer;
+        this.logger = new Logger(LogLevel.INFO);
+        this.writeExecutor = Executors.newSingleThreadExecutor(createThreadFactory());
+        this.pendingWrites = new ConcurrentHashMap<>();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.size = 0;
+        this.redundantOperationCount = 0;
+        this.journalWriter = null;
+        this.initialized = false;
+    }
+
+    /**
+     * Returns the directory, the cache's files are stored in.
+     *
+     * @return The directory, the cache's files are stored in, as an instance of the class {@link
+     * File}. The directory may not be null
+     */
+    @NonNull
+    public final File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the log level, which is used for logging.
+     *
+     * @return The log level, which is used for logging, as a value of the enum {@link LogLevel}.
+     * The log level may not be null
+     */
+    @NonNull
+    public final LogLevel getLogLevel() {
+        return logger.getLogLevel();
+    }
+
+    /**
+     * Sets the log level, which should be used for logging.
+     *
+     * @param logLevel
+     *         The log level, which should be set, as a value of the enum {@link LogLevel}. The log
+     *         level may not be null
+     */
+    public final void setLogLevel(@NonNull final LogLevel logLevel) {
+        logger.setLogLevel(logLevel);
+    }
+
+    /**
+     * Returns the data, which corresponds to a specific key. This method reads from the file system
+     * and should therefore not be called on the UI thread.
+     *
+     * @param key
+     *         The key of the data, which should be returned, as an instance of the generic type
+     *         KeyType. The key may not be null
+     * @return The data, which corresponds to the given key, as an instance of the generic type
+     * DataType or null, if no such data is cached or if the data could not be read
+     */
+    @Nullable
+    public final DataType get(@NonNull final KeyType key) {
+        Condition.INSTANCE.ensureNotNull(key, "The key may not be null");
+        String name = getFileName(key);
+        DataType data = pendingWrites.get(name);
+
+        if (data != null) {
+            return data;
+        }
+
+        initialize();
+
+        synchronized (this) {
+            if (entries.get(name) == null) {
+                return null;
+            }
+
+            appendJournal(OPERATION_READ + " " + name, true, false);
+        }
+
+        InputStream inputStream = null;
+
+        try {
+            inputStream = new BufferedInputStream(new FileInputStream(new File(directory, name)),
+                    BUFFER_SIZE);
+            return serializer.deserialize(inputStream);
+        } catch (IOException e) {
+            logger.logWarn(getClass(), "Failed to read file \"" + name + "\"", e);
+            removeEntry(name);
+            return null;
+        } finally {
+            StreamUtil.INSTANCE.close(inputStream);
+        }
+    }
+
+    /**
+     * Adds specific data to the cache. The data is written asynchronously and must therefore not
+     * be modified afterwards. If the cache already contains data with the same key, it is
+     * replaced.
+     *
+     * @param key
+     *         The key of the data, which should be added, as an instance of the generic type
+     *         KeyType. The key may not be null
+     * @param data
+     *         The data, which should be added, as an instance of the generic type DataType. The
+     *         data may not be null
+     */
+    public final void put(@NonNull final KeyType key, @NonNull final DataType data) {
+        Condition.INSTANCE.ensureNotNull(key, "The key may not be null");
+        Condition.INSTANCE.ensureNotNull(data, "The data may not be null");
+        final String name = getFileName(key);
+        pendingWrites.put(name, data);
+        writeExecutor.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                if (pendingWrites.get(name) == data) {
+                    try {
+                        write(name, data);
+                    } finally {
+                        pendingWrites.remove(name, data);
+                    }
+                }
+            }
+
+        });
+    }
+
+    /**
+     * Removes the data, which corresponds to a specific key, from the cache.
+     *
+     * @param key
+     *         The key of the data, which should be removed, as an instance of the generic type
+     *         KeyType. The key may not be null
+     */
+    public final void remove(@NonNull final KeyType key) {
+        Condition.INSTANCE.ensureNotNull(key, "The key may not be null");
+        String name = getFileName(key);
+        pendingWrites.remove(name);
+        initialize();
+        removeEntry(name);
+    }
+
+    /**
+     * Removes all data from the cache.
+     */
+    public final void clear() {
+        pendingWrites.clear();
+        initialize();
+
+        synchronized (this) {
+            while (!entries.isEmpty()) {
+                removeEntry(entries.keySet().iterator().next());
+            }
+
+            rebuildJournal();
+        }
+    }
+
+    /**
+     * Returns the current size of the cache. Data, which has not been written yet, is not taken
+     * into account.
+     *
+     * @return The current size of the cache in bytes as a {@link Long} value
+     */
+    public final long getSize() {
+        initialize();
+
+        synchronized (this) {
+            return size;
+        }
+    }
+
+    /**
+     * Returns the maximum size of the cache.
+     *
+     * @return The maximum size of the cache in bytes as a {@link Long} value
+     */
+    public final long getMaxSize() {
+        return maxSize;
+    }
+
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2015 - 2019 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.util.cache;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Bitmap.CompressFormat;
+import android.graphics.BitmapFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import de.mrapp.android.util.BitmapUtil;
+import de.mrapp.util.Condition;
+
+/**
+ * A persistent cache, which stores compressed thumbnails of image files by using a {@link
+ * DiskCache}. Thumbnails are identified by the path, size and last modification time of their
+ * image files, as well as by their maximum width and height. If an image file is modified, its
+ * cached thumbnails are therefore not used anymore and are eventually evicted. Cached thumbnails
+ * are retrieved without decoding the original image files.
+ * <p>
+ * Opaque thumbnails are compressed by using a specific format, which is JPEG by default.
+ * Thumbnails, which contain transparent pixels, are always compressed as PNG images. The total
+ * size of all files is bounded. When exceeding the maximum size, the least recently used files
+ * are deleted. As all methods access the file system, they should not be called on the UI
+ * thread.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class ThumbnailCache {
+
+    /**
+     * A serializer, which writes and reads byte arrays.
+     */
+    private static class ByteArraySerializer implements DiskCache.Serializer<byte[]> {
+
+        /**
+         * The size of the buffer, which is used to read byte arrays, in bytes.
+         */
+        private static final int BUFFER_SIZE = 8192;
+
+        @Override
+        public void serialize(@NonNull final byte[] data,
+                              @NonNull final OutputStream outputStream) throws IOException {
+            outputStream.write(data);
+        }
+
+        @NonNull
+        @Override
+        public byte[] deserialize(@NonNull final InputStream inputStream) throws IOException {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(BUFFER_SIZE);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+
+            return outputStream.toByteArray();
+        }
+
+    }
+
+    /**
+     * The format, which is used to compress opaque thumbnails by default.
+     */
+    public static final CompressFormat DEFAULT_FORMAT = CompressFormat.JPEG;
+
+    /**
+     * The quality, which is used to compress thumbnails by default.
+     */
+    public static final int DEFAULT_QUALITY = 90;
+
+    /**
+     * The cache, which is used to store the compressed thumbnails.
+     */
+    private final DiskCache<String, byte[]> diskCache;
+
+    /**
+     * The format, which is used to compress opaque thumbnails.
+     */
+    private final CompressFormat format;
+
+    /**
+     * The quality, which is used to compress thumbnails.
+     */
+    private final int quality;
+
+    /**
+     * Returns the key, which identifies the thumbnail of a specific image file.
+     *
+     * @param file
+     *         The image file as an instance of the class {@link File}. The file may not be null
+     * @param maxWidth
+     *         The maximum width of the thumbnail in pixels as an {@link Integer} value
+     * @param maxHeight
+     *         The maximum height of the thumbnail in pixels as an {@link Integer} value
+     * @return The key, which identifies the thumbnail, as a {@link String}. The key may neither be
+     * null, nor empty
+     */
+    @NonNull
+    private static String getKey(@NonNull final File file, final int maxWidth,
+                                  final int maxHeight) {
+        Condition.INSTANCE.ensureNotNull(file, "The file may not be null");
+        Condition.INSTANCE.ensureAtLeast(maxWidth, 1, "The maximum width must be at least 1");
+        Condition.INSTANCE.ensureAtLeast(maxHeight, 1, "The maximum height must be at least 1");
+        return file.getAbsolutePath() + ":" + file.length() + ":" + file.lastModified() + ":" +
+                maxWidth + "x" + maxHeight;
+    }
+
+    /**
+     * Creates a new cache, which stores its files in a sub-directory of the app's cache directory
+     * and uses <code>DEFAULT_FORMAT</code> and <code>DEFAULT_QUALITY</code> to compress
+     * thumbnails.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the app's cache directory, as an
+     *         instance of the class {@link Context}. The context may not be null
+     * @param name
+     *         The name of the sub-directory, the cache's files should be stored in, as a {@link
+     *         String}. The name may neither be null, nor empty
+     * @param maxSize
+     *         The maximum size of the cache in bytes as a {@link Long} value. The maximum size must
+     *         be at least 1
+     */
+    public ThumbnailCache(@NonNull final Context context, @NonNull final String name,
+                          final long maxSize) {
+        this(new DiskCache<>(context, name, maxSize, new ByteArraySerializer()), DEFAULT_FORMAT,
+                DEFAULT_QUALITY);
+    }
+
+    /**
+     * Creates a new cache, which stores its files in a specific directory.
+     *
+     * @param directory
+     *         The directory, the cache's files should be stored in, as an instance of the class
+     *         {@link File}. The directory may not be null
+     * @param maxSize
+     *         The maximum size of the cache in bytes as a {@link Long} value. The maximum size must
+     *         be at least 1
+     * @param format
+     *         The format, which should be used to compress opaque thumbnails, as a value of the
+     *         enum {@link CompressFormat}. The format may not be null
+     * @param quality
+     *         The quality, which should be used to compress thumbnails, as an {@link Integer}
+     *         value. The quality must be at least 0 (lowest quality) and at maximum 100 (highest
+     *         quality)
+     */
+    public ThumbnailCache(@NonNull final File directory, final long maxSize,
+                          @NonNull final CompressFormat format, final int quality) {
+        this(new DiskCache<>(directory, maxSize, new ByteArraySerializer()), format, quality);
+    }
+
+    /**
+     * Creates a new cache, which uses a specific disk cache.
+     *
+     * @param diskCache
+     *         The disk cache, which should be used, as an instance of the class {@link DiskCache}.
+     *         The disk cache may not be null
+     * @param format
+     *         The format, which should be used to compress opaque thumbnails, as a value of the
+     *         enum {@link CompressFormat}. The format may not be null
+     * @param quality
+     *         The quality, which should be used to compress thumbnails, as an {@link Integer}
+     *         value. The quality must be at least 0 (lowest quality) and at maximum 100 (highest
+     *         quality)
+     */
+    private ThumbnailCache(@NonNull final DiskCache<String, byte[]> diskCache,
+                           @NonNull final CompressFormat format, final int quality) {
+        Condition.INSTANCE.ensureNotNull(format, "The format may not be null");
+        Condition.INSTANCE.ensureAtLeast(quality, 0, "The quality must be at least 0");
+        Condition.INSTANCE.ensureAtMaximum(quality, 100, "The quality must be at maximum 100");
+        this.diskCache = diskCache;
+        this.format = format;
+        this.quality = quality;
+    }
+
+    /**
+     * Returns the cached thumbnail of a specific image file. The image file itself is not read.
+     *
+     * @param file
+     *         The image file, whose thumbnail should be returned, as an instance of the class
+     *         {@link File}. The file may not be null
+     * @param maxWidth
+     *         The maximum width of the thumbnail in pixels as an {@link Integer} value. The maximum
+     *         width must be at least 1
+     * @param maxHeight
+     *         The maximum height of the thumbnail in pixels as an {@link Integer} value. The
+     *         maximum height must be at least 1
+     * @return The cached thumbnail as an instance of the class {@link Bitmap} or null, if no
+     * such thumbnail is cached, or if the image file has been modified since
+     */
+    @Nullable
+    public final Bitmap get(@NonNull final File file, final int maxWidth, final int maxHeight) {
+        String key = getKey(file, maxWidth, maxHeight);
+        byte[] data = diskCache.get(key);
+
+        if (data != null) {
+            Bitmap thumbnail = BitmapFactory.decodeByteArray(data, 0, data.length, null);
+
+            if (thumbnail != null) {
+                return thumbnail;
+            }
+
+            diskCache.remove(key);
+        }
+
+        return null;
+    }
+
+    /**
+     * Adds the thumbnail of a specific image file to the cache. The thumbnail is compressed
+     * synchronously and written asynchronously. Therefore, it may be recycled once this method
+     * has returned.
+     *
+     * @param file
+     *         The image file, the thumbnail belongs to, as an instance of the class {@link File}.
+     *         The file may not be null
+     * @param maxWidth
+     *         The maximum width of the thumbnail in pixels as an {@link Integer} value. The maximum
+     *         width must be at least 1
+     * @param maxHeight
+     *         The maximum height of the thumbnail in pixels as an {@link Integer} value. The
+     *         maximum height must be at least 1
+     * @param thumbnail
+     *         The thumbnail, which should be added, as an instance of the class {@link Bitmap}.
+     *         The thumbnail may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while compressing the thumbnail
+     */
+    public final void put(@NonNull final File file, final int maxWidth, final int maxHeight,
+                          @NonNull final Bitmap thumbnail) throws IOException {
+        String key = getKey(file, maxWidth, maxHeight);
+        Condition.INSTANCE.ensureNotNull(thumbnail, "The thumbnail may not be null");
+        CompressFormat compressFormat = thumbnail.hasAlpha() ? CompressFormat.PNG : format;
+        diskCache.put(key, BitmapUtil.compressToByteArray(thumbnail, compressFormat, quality));
+    }
+
+    /**
+     * Returns the thumbnail of a specific image file. If the thumbnail is not cached, it is loaded
+     * by using the method {@link BitmapUtil#loadThumbnail(File, int, int)} and added to the
+     * cache.
+     *
+     * @param file
+     *         The image file, whose thumbnail should be returned, as an instance of the class
+     *         {@link File}. The file may not be null. The file must exist and must not be a
+     *         directory
+     * @param maxWidth
+     *         The maximum width of the thumbnail in pixels as an {@link Integer} value. The maximum
+     *         width must be at least 1
+     * @param maxHeight
+     *         The maximum height of the thumbnail in pixels as an {@link Integer} value. The
+     *         maximum height must be at least 1
+     * @return The thumbnail as an instance of the class {@link Bitmap}. The thumbnail may not be
+     * null
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while decoding the image file
+     */
+    @NonNull
+    public final Bitmap loadThumbnail(@NonNull final File file, final int maxWidth,
+                                      final int maxHeight) throws IOException {
+        Bitmap thumbnail = get(file, maxWidth, maxHeight);
+
+        if (thumbnail == null) {
+            thumbnail = BitmapUtil.loadThumbnail(file, maxWidth, maxHeight);
+            put(file, maxWidth, maxHeight, thumbnail);
+        }
+
+        return thumbnail;
+    }
+
+    /**
+     * Removes the cached thumbnail of a specific image file.
+     *
+     * @param file
+     *         The image file, whose thumbnail should be removed, as an instance of the class
+     *         {@link File}. The file may not be null
+     * @param maxWidth
+     *         The maximum width of the thumbnail in pixels as an {@link Integer} value. The maximum
+     *         width must be at least 1
+     * @param maxHeight
+     *         The maximum height of the thumbnail in pixels as an {@link Integer} value. The
+     *         maximum height must be at least 1
+     */
+    public final void remove(@NonNull final File file, final int maxWidth, final int maxHeight) {
+        diskCache.remove(getKey(file, maxWidth, maxHeight));
+    }
+
+    /**
+     * Removes all thumbnails from the cache.
+     */
+    public final void clear() {
+        diskCache.clear();
+    }
+
+    /**
+     * Returns the current size of the cache.
+     *
+     * @return The current size of the cache in bytes as a {@link Long} value
+     */
+    public final long getSize() {
+        return diskCache.getSize();
+    }
+
+    /**
+     * Returns the maximum size of the cache.
+     *
+     * @return The maximum size of the cache in bytes as a {@link Long} value
+     */
+    public final long getMaxSize() {
+        return diskCache.getMaxSize();
+    }
+
+}
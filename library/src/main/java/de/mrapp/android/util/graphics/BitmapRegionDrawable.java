@@ -0,0 +1,138 @@
+/*
+ * Copyright 2015 - 2019 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.util.graphics;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import de.mrapp.util.Condition;
+
+/**
+ * A drawable, which draws a specific region of a bitmap. Unlike a bitmap, which has been created
+ * by using the method {@link Bitmap#createBitmap(Bitmap, int, int, int, int)}, the drawable
+ * references the original bitmap and does not copy any pixels. The region is scaled to fill the
+ * bounds of the drawable. The original bitmap must not be recycled as long as the drawable is
+ * used.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class BitmapRegionDrawable extends Drawable {
+
+    /**
+     * The bitmap, whose region is drawn.
+     */
+    private final Bitmap bitmap;
+
+    /**
+     * The region of the bitmap, which is drawn.
+     */
+    private final Rect region;
+
+    /**
+     * The paint, which is used to draw the region.
+     */
+    private final Paint paint;
+
+    /**
+     * Creates a new drawable, which draws a specific region of a bitmap.
+     *
+     * @param bitmap
+     *         The bitmap, whose region should be drawn, as an instance of the class {@link
+     *         Bitmap}. The bitmap may not be null
+     * @param region
+     *         The region, which should be drawn, in pixels as an instance of the class {@link
+     *         Rect}. The region may not be null and must not be empty. It must be located within
+     *         the bounds of the bitmap
+     */
+    public BitmapRegionDrawable(@NonNull final Bitmap bitmap, @NonNull final Rect region) {
+        Condition.INSTANCE.ensureNotNull(bitmap, "The bitmap may not be null");
+        Condition.INSTANCE.ensureNotNull(region, "The region may not be null");
+        Condition.INSTANCE.ensureFalse(region.isEmpty(), "The region may not be empty");
+        Condition.INSTANCE.ensureTrue(
+                new Rect(0, 0, bitmap.getWidth(), bitmap.getHeight()).contains(region),
+                "The region must be located within the bounds of the bitmap");
+        this.bitmap = bitmap;
+        this.region = new Rect(region);
+        this.paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    }
+
+    /**
+     * Returns the bitmap, whose region is drawn.
+     *
+     * @return The bitmap, whose region is drawn, as an instance of the class {@link Bitmap}. The
+     * bitmap may not be null
+     */
+    @NonNull
+    public final Bitmap getBitmap() {
+        return bitmap;
+    }
+
+    /**
+     * Returns the region of the bitmap, which is drawn.
+     *
+     * @return A copy of the region of the bitmap, which is drawn, in pixels as an instance of the
+     * class {@link Rect}. The region may not be null
+     */
+    @NonNull
+    public final Rect getRegion() {
+        return new Rect(region);
+    }
+
+    @Override
+    public final void draw(@NonNull final Canvas canvas) {
+        canvas.drawBitmap(bitmap, region, getBounds(), paint);
+    }
+
+    @Override
+    public final int getIntrinsicWidth() {
+        return region.width();
+    }
+
+    @Override
+    public final int getIntrinsicHeight() {
+        return region.height();
+    }
+
+    @Override
+    public final void setAlpha(final int alpha) {
+        paint.setAlpha(alpha);
+        invalidateSelf();
+    }
+
+    @Override
+    public final int getAlpha() {
+        return paint.getAlpha();
+    }
+
+    @Override
+    public final void setColorFilter(@Nullable final ColorFilter colorFilter) {
+        paint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public final int getOpacity() {
+        return bitmap.hasAlpha() || paint.getAlpha() < 255 ? PixelFormat.TRANSLUCENT :
+                PixelFormat.OPAQUE;
+    }
+
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2015 - 2019 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.util.graphics;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffColorFilter;
+import android.graphics.RectF;
+import android.graphics.Shader;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import de.mrapp.android.util.cache.BitmapPool;
+import de.mrapp.android.util.multithreading.Transformation;
+import de.mrapp.util.Condition;
+
+/**
+ * A transformation, which allows to resize, tile, clip, tint and add a border to a bitmap. All
+ * stages of the transformation are combined and rendered in a single pass by drawing the original
+ * bitmap through a {@link BitmapShader} into a single output bitmap. No intermediate bitmaps are
+ * allocated. If a {@link BitmapPool} is set, the output bitmap is retrieved from the pool, if
+ * possible.
+ * <p>
+ * The stages are applied in a fixed order, regardless of the order they have been configured in:
+ * The bitmap is resized or tiled first, then it is tinted and clipped. The border is drawn last
+ * and is not tinted. The original bitmap is neither modified, nor recycled.
+ * <p>
+ * The transformation can be used by an {@link
+ * de.mrapp.android.util.multithreading.AbstractDataBinder}, as it implements the interface {@link
+ * Transformation}. Its key uniquely identifies the configuration of all stages.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class BitmapTransformation implements Transformation<Bitmap> {
+
+    /**
+     * Contains all shapes, a bitmap can be clipped to.
+     */
+    public enum Shape {
+
+        /**
+         * If the bitmap should not be clipped.
+         */
+        RECTANGLE,
+
+        /**
+         * If the bitmap should be clipped to a square.
+         */
+        SQUARE,
+
+        /**
+         * If the bitmap should be clipped to a circle.
+         */
+        CIRCLE
+
+    }
+
+    /**
+     * The shape, the bitmap is clipped to.
+     */
+    private Shape shape;
+
+    /**
+     * The width of the output bitmap in pixels or 0, if the width of the original bitmap is used.
+     */
+    private int width;
+
+    /**
+     * The height of the output bitmap in pixels or 0, if the height of the original bitmap is
+     * used.
+     */
+    private int height;
+
+    /**
+     * True, if the original bitmap is repeated in order to fill the output bitmap, false, if it is
+     * scaled.
+     */
+    private boolean tile;
+
+    /**
+     * The width of the border in pixels.
+     */
+    private int borderWidth;
+
+    /**
+     * The color of the border.
+     */
+    private int borderColor;
+
+    /**
+     * The color, the bitmap is tinted with.
+     */
+    private int tintColor;
+
+    /**
+     * The pool, the output bitmap is retrieved from, or null, if a new bitmap is allocated.
+     */
+    private BitmapPool pool;
+
+    /**
+     * Returns a textual representation of a specific color.
+     *
+     * @param color
+     *         The color as an {@link Integer} value
+     * @return The textual representation of the given color as a {@link String}
+     */
+    @NonNull
+    private static String colorToString(@ColorInt final int color) {
+        return "#" + Integer.toHexString(color);
+    }
+
+    /**
+     * Creates and returns the output bitmap.
+     *
+     * @param outputWidth
+     *         The width of the output bitmap in pixels as an {@link Integer} value
+     * @param outputHeight
+     *         The height of the output bitmap in pixels as an {@link Integer} value
+     * @return The output bitmap, which has been created, as an instance of the class {@link
+     * Bitmap}. The bitmap may not be null
+     */
+    @NonNull
+    private Bitmap createOutputBitmap(final int outputWidth, final int outputHeight) {
+        Bitmap output = pool != null ?
+                pool.get(outputWidth, outputHeight, Bitmap.Config.ARGB_8888) : null;
+        return output != null ? output :
+                Bitmap.createBitmap(outputWidth, outputHeight, Bitmap.Config.ARGB_8888);
+    }
+
+    /**
+     * Creates a new transformation, which does not modify the bitmap, unless stages are
+     * configured.
+     */
+    public BitmapTransformation() {
+        this.shape = Shape.RECTANGLE;
+        this.width = 0;
+        this.height = 0;
+        this.tile = false;
+        this.borderWidth = 0;
+        this.borderColor = Color.TRANSPARENT;
+        this.tintColor = Color.TRANSPARENT;
+        this.pool = null;
+    }
+
+    /**
+     * Scales the bitmap to a specific size. If the bitmap is clipped to a square or circle, the
+     * smaller of both dimensions is used.
+     *
+     * @param width
+     *         The width, the bitmap should be scaled to, in pixels as an {@link Integer} value.
+     *         The width must be at least 1
+     * @param height
+     *         The height, the bitmap should be scaled to, in pixels as an {@link Integer} value.
+     *         The height must be at least 1
+     * @return The transformation, this method has been called upon, as an instance of the class
+     * {@link BitmapTransformation}. The transformation may not be null
+     */
+    @NonNull
+    public final BitmapTransformation resize(final int width, final int height) {
+        Condition.INSTANCE.ensureAtLeast(width, 1, "The width must be at least 1");
+        Condition.INSTANCE.ensureAtLeast(height, 1, "The height must be at least 1");
+        this.width = width;
+        this.height = height;
+        this.tile = false;
+        return this;
+    }
+
+    /**
+     * Repeats the bitmap in order to fill an area with a specific size.
+     *
+     * @param width
+     *         The width of the area, which should be filled, in pixels as an {@link Integer}
+     *         value. The width must be at least 1
+     * @param height
+     *         The height of the area, which should be filled, in pixels as an {@link Integer}
+     *         value. The height must be at least 1
+     * @return The transformation, this method has been called upon, as an instance of the class
+     * {@link BitmapTransformation}. The transformation may not be null
+     */
+    @NonNull
+    public final BitmapTransformation tile(final int width, final int height) {
+        resize(width, height);
+        this.tile = true;
+        return this;
+    }
+
+    /**
+     * Clips the bitmap to a square. If the bitmap is not tiled, the center of the bitmap is used.
+     *
+     * @return The transformation, this method has been called upon, as an instance of the class
+     * {@link BitmapTransformation}. The transformation may not be null
+     */
+    @NonNull
+    public final BitmapTransformation clipSquare() {
+        this.shape = Shape.SQUARE;
+        return this;
+    }
+
+    /**
+     * Clips the bitmap to a circle. If the bitmap is not tiled, the center of the bitmap is used.
+     *
+     * @return The transformation, this method has been called upon, as an instance of the class
+     * {@link BitmapTransformation}. The transformation may not be null
+     */
+    @NonNull
+    public final BitmapTransformation clipCircle() {
+        this.shape = Shape.CIRCLE;
+        return this;
+    }
+
+    /**
+     * Adds a border with a specific width and color. The border follows the shape, the bitmap is
+     * clipped to. The bitmap is shrunk by half of the border's width in order to make space for
+     * the border.
+     *
+     * @param borderWidth
+     *         The width of the border in pixels as an {@link Integer} value. The width must be at
+     *         least 0
+     * @param borderColor
+     *         The color of the border as an {@link Integer} value
+     * @return The transformation, this method has been called upon, as an instance of the class
+     * {@link BitmapTransformation}. The transformation may not be null
+     */
+    @NonNull
+    public final BitmapTransformation border(final int borderWidth,
+                                             @ColorInt final int borderColor) {
+        Condition.INSTANCE.ensureAtLeast(borderWidth, 0, "The border width must be at least 0");
+        this.borderWidth = borderWidth;
+        this.borderColor = borderColor;
+        return this;
+    }
+
+    /**
+     * Tints the bitmap by drawing a specific color on top of it.
+     *
+     * @param color
+     *         The color, the bitmap should be tinted with, as an {@link Integer} value
+     * @return The transformation, this method has been called upon, as an instance of the class
+     * {@link BitmapTransformation}. The transformation may not be null
+     */
+    @NonNull
+    public final BitmapTransformation tint(@ColorInt final int color) {
+        this.tintColor = color;
+        return this;
+    }
+
+    /**
+     * Sets the pool, the output bitmap should be retrieved from. The pool is not part of the
+     * transformation's key.
+     *
+     * @param pool
+     *         The pool, which should be set, as an instance of the class {@link BitmapPool} or
+     *         null, if a new bitmap should always be allocated
+     * @return The transformation, this method has been called upon, as an instance of the class
+     * {@link BitmapTransformation}. The transformation may not be null
+     */
+    @NonNull
+    public final BitmapTransformation setBitmapPool(@Nullable final BitmapPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Returns the shape, the bitmap is clipped to.
+     *
+     * @return The shape, the bitmap is clipped to, as a value of the enum {@link Shape}. The shape
+     * may not be null
+     */
+    @NonNull
+    public final Shape getShape() {
+        return shape;
+    }
+
+    @NonNull
+    @Override
+    public final String getKey() {
+        StringBuilder builder = new StringBuilder("BitmapTransformation[shape=");
+        builder.append(shape);
+
+        if (width > 0 && height > 0) {
+            builder.append(tile ? ",tile=" : ",size=").append(width).append("x").append(height);
+        }
+
+        if (borderWidth > 0 && Color.alpha(borderColor) != 0) {
+            builder.append(",border=").append(borderWidth).append(colorToString(borderColor));
+        } else if (borderWidth > 0) {
+            builder.append(",inset=").append(borderWidth);
+        }
+
+        if (Color.alpha(tintColor) != 0) {
+            builder.append(",tint=").append(colorToString(tintColor));
+        }
+
+        return builder.append("]").toString();
+    }
+
+    @NonNull
+    @Override
+    public final Bitmap transform(@NonNull final Bitmap bitmap) {
+        Condition.INSTANCE.ensureNotNull(bitmap, "The bitmap may not be null");
+        int bitmapWidth = bitmap.getWidth();
+        int bitmapHeight = bitmap.getHeight();
+        RectF src = new RectF(0, 0, bitmapWidth, bitmapHeight);
+        int outputWidth = width > 0 ? width : bitmapWidth;
+        int outputHeight = height > 0 ? height : bitmapHeight;
+
+        if (shape != Shape.RECTANGLE) {
+            int size = Math.min(outputWidth, outputHeight);
+            outputWidth = size;
+            outputHeight = size;
+
+            if (!tile) {
+                int srcSize = Math.min(bitmapWidth, bitmapHeight);
+                float left = (bitmapWidth - srcSize) / 2;
+                float top = (bitmapHeight - srcSize) / 2;
+                src.set(left, top, left + srcSize, top + srcSize);
+            }
+        }
+
+        Bitmap output = createOutputBitmap(outputWidth, outputHeight);
+        Canvas canvas = new Canvas(output);
+        float offset = borderWidth / 2.0f;
+        RectF dst = new RectF(offset, offset, outputWidth - offset, outputHeight - offset);
+        Shader.TileMode tileMode = tile ? Shader.TileMode.REPEAT : Shader.TileMode.CLAMP;
+        BitmapShader shader = new BitmapShader(bitmap, tileMode, tileMode);
+        Matrix matrix = new Matrix();
+
+        if (tile) {
+            matrix.setTranslate(offset, offset);
+        } else {
+            matrix.setRectToRect(src, dst, Matrix.ScaleToFit.FILL);
+        }
+
+        shader.setLocalMatrix(matrix);
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+        paint.setShader(shader);
+
+        if (Color.alpha(tintColor) != 0) {
+            paint.setColorFilter(new PorterDuffColorFilter(tintColor, PorterDuff.Mode.SRC_OVER));
+        }
+
+        if (shape == Shape.CIRCLE) {
+            canvas.drawOval(dst, paint);
+        } else {
+            canvas.drawRect(dst, paint);
+        }
+
+        if (borderWidth > 0 && Color.alpha(borderColor) != 0) {
+            Paint borderPaint = new Paint(shape == Shape.CIRCLE ? Paint.ANTI_ALIAS_FLAG : 0);
+            borderPaint.setStyle(Paint.Style.STROKE);
+            borderPaint.setStrokeWidth(borderWidth);
+            borderPaint.setColor(borderColor);
+
+            if (shape == Shape.CIRCLE) {
+                canvas.drawOval(dst, borderPaint);
+            } else {
+                canvas.drawRect(dst, borderPaint);
+            }
+        }
+
+        return output;
+    }
+
+    @Override
+    public final String toString() {
+        return getKey();
+    }
+
+}
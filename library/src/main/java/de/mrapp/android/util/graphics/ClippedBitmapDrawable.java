@@ -0,0 +1,319 @@
+/*
+ * Copyright 2015 - 2019 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.util.graphics;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Shader;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import de.mrapp.android.util.graphics.BitmapTransformation.Shape;
+import de.mrapp.util.Condition;
+
+/**
+ * A drawable, which draws a bitmap clipped to a specific shape, optionally surrounded by a border.
+ * Unlike the methods <code>clipCircle</code> and <code>clipSquare</code> of the class {@link
+ * de.mrapp.android.util.BitmapUtil}, no clipped copy of the bitmap is created. Instead, the bitmap
+ * is drawn through a {@link BitmapShader}, whose matrix is only updated, when the bounds of the
+ * drawable change. Therefore, drawing does not allocate any objects.
+ * <p>
+ * If the bitmap is clipped to a square or circle, the center of the bitmap is used. If the bitmap
+ * is not clipped, it is scaled to fill the bounds of the drawable.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class ClippedBitmapDrawable extends Drawable {
+
+    /**
+     * The shape, the bitmap is clipped to.
+     */
+    private final Shape shape;
+
+    /**
+     * The paint, which is used to draw the bitmap.
+     */
+    private final Paint paint;
+
+    /**
+     * The paint, which is used to draw the border.
+     */
+    private final Paint borderPaint;
+
+    /**
+     * The matrix, which is used to map the bitmap to the bounds of the drawable.
+     */
+    private final Matrix shaderMatrix;
+
+    /**
+     * The rectangle, which specifies the area of the bitmap, which is drawn.
+     */
+    private final RectF src;
+
+    /**
+     * The rectangle, the bitmap is drawn into.
+     */
+    private final RectF dst;
+
+    /**
+     * The bitmap, which is drawn.
+     */
+    private Bitmap bitmap;
+
+    /**
+     * The width of the border in pixels.
+     */
+    private int borderWidth;
+
+    /**
+     * The radius of the corners in pixels, if the bitmap is not clipped to a circle.
+     */
+    private float cornerRadius;
+
+    /**
+     * Updates the matrix of the shader, as well as the area, the bitmap is drawn into, depending
+     * on the current bounds of the drawable.
+     *
+     * @param bounds
+     *         The bounds of the drawable as an instance of the class {@link Rect}. The bounds may
+     *         not be null
+     */
+    private void updateShaderMatrix(@NonNull final Rect bounds) {
+        float offset = borderWidth / 2.0f;
+        dst.set(bounds);
+
+        if (shape != Shape.RECTANGLE) {
+            float size = Math.min(bounds.width(), bounds.height());
+            float left = bounds.left + (bounds.width() - size) / 2.0f;
+            float top = bounds.top + (bounds.height() - size) / 2.0f;
+            dst.set(left, top, left + size, top + size);
+        }
+
+        dst.inset(offset, offset);
+        int bitmapWidth = bitmap.getWidth();
+        int bitmapHeight = bitmap.getHeight();
+        src.set(0, 0, bitmapWidth, bitmapHeight);
+
+        if (shape != Shape.RECTANGLE) {
+            int srcSize = Math.min(bitmapWidth, bitmapHeight);
+            float left = (bitmapWidth - srcSize) / 2f;
+            float top = (bitmapHeight - srcSize) / 2f;
+            src.set(left, top, left + srcSize, top + srcSize);
+        }
+
+        shaderMatrix.setRectToRect(src, dst, Matrix.ScaleToFit.FILL);
+        paint.getShader().setLocalMatrix(shaderMatrix);
+    }
+
+    /**
+     * Creates a new drawable, which draws a bitmap clipped to a specific shape.
+     *
+     * @param bitmap
+     *         The bitmap, which should be drawn, as an instance of the class {@link Bitmap}. The
+     *         bitmap may not be null
+     * @param shape
+     *         The shape, the bitmap should be clipped to, as a value of the enum {@link Shape}.
+     *         The shape may not be null
+     */
+    public ClippedBitmapDrawable(@NonNull final Bitmap bitmap, @NonNull final Shape shape) {
+        Condition.INSTANCE.ensureNotNull(shape, "The shape may not be null");
+        this.shape = shape;
+        this.paint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+        this.borderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        this.borderPaint.setStyle(Paint.Style.STROKE);
+        this.shaderMatrix = new Matrix();
+        this.src = new RectF();
+        this.dst = new RectF();
+        this.borderWidth = 0;
+        this.cornerRadius = 0;
+        setBitmap(bitmap);
+    }
+
+    /**
+     * Returns the bitmap, which is drawn.
+     *
+     * @return The bitmap, which is drawn, as an instance of the class {@link Bitmap}. The bitmap
+     * may not be null
+     */
+    @NonNull
+    public final Bitmap getBitmap() {
+        return bitmap;
+    }
+
+    /**
+     * Sets the bitmap, which should be drawn. This allows to reuse the drawable, e.g. when binding
+     * the views of a list. A new shader is only created, if the bitmap differs from the current
+     * one.
+     *
+     * @param bitmap
+     *         The bitmap, which should be set, as an instance of the class {@link Bitmap}. The
+     *         bitmap may not be null
+     */
+    public final void setBitmap(@NonNull final Bitmap bitmap) {
+        Condition.INSTANCE.ensureNotNull(bitmap, "The bitmap may not be null");
+
+        if (this.bitmap != bitmap) {
+            this.bitmap = bitmap;
+            this.paint.setShader(
+                    new BitmapShader(bitmap, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP));
+        }
+
+        updateShaderMatrix(getBounds());
+        invalidateSelf();
+    }
+
+    /**
+     * Returns the shape, the bitmap is clipped to.
+     *
+     * @return The shape, the bitmap is clipped to, as a value of the enum {@link Shape}. The shape
+     * may not be null
+     */
+    @NonNull
+    public final Shape getShape() {
+        return shape;
+    }
+
+    /**
+     * Returns the width of the border.
+     *
+     * @return The width of the border in pixels as an {@link Integer} value
+     */
+    public final int getBorderWidth() {
+        return borderWidth;
+    }
+
+    /**
+     * Returns the color of the border.
+     *
+     * @return The color of the border as an {@link Integer} value
+     */
+    @ColorInt
+    public final int getBorderColor() {
+        return borderPaint.getColor();
+    }
+
+    /**
+     * Sets the width and color of the border. The bitmap is shrunk by half of the border's width
+     * in order to make space for the border.
+     *
+     * @param borderWidth
+     *         The width of the border in pixels as an {@link Integer} value. The width must be at
+     *         least 0
+     * @param borderColor
+     *         The color of the border as an {@link Integer} value
+     */
+    public final void setBorder(final int borderWidth, @ColorInt final int borderColor) {
+        Condition.INSTANCE.ensureAtLeast(borderWidth, 0, "The border width must be at least 0");
+        this.borderWidth = borderWidth;
+        this.borderPaint.setStrokeWidth(borderWidth);
+        this.borderPaint.setColor(borderColor);
+        updateShaderMatrix(getBounds());
+        invalidateSelf();
+    }
+
+    /**
+     * Returns the radius of the corners, if the bitmap is not clipped to a circle.
+     *
+     * @return The radius of the corners in pixels as a {@link Float} value
+     */
+    public final float getCornerRadius() {
+        return cornerRadius;
+    }
+
+    /**
+     * Sets the radius of the corners, if the bitmap is not clipped to a circle.
+     *
+     * @param cornerRadius
+     *         The radius, which should be set, in pixels as a {@link Float} value. The radius must
+     *         be at least 0
+     */
+    public final void setCornerRadius(final float cornerRadius) {
+        Condition.INSTANCE.ensureAtLeast(cornerRadius, 0, "The corner radius must be at least 0");
+        this.cornerRadius = cornerRadius;
+        invalidateSelf();
+    }
+
+    @Override
+    public final void draw(@NonNull final Canvas canvas) {
+        if (shape == Shape.CIRCLE) {
+            canvas.drawOval(dst, paint);
+        } else if (cornerRadius > 0) {
+            canvas.drawRoundRect(dst, cornerRadius, cornerRadius, paint);
+        } else {
+            canvas.drawRect(dst, paint);
+        }
+
+        if (borderWidth > 0 && Color.alpha(borderPaint.getColor()) != 0) {
+            if (shape == Shape.CIRCLE) {
+                canvas.drawOval(dst, borderPaint);
+            } else if (cornerRadius > 0) {
+                canvas.drawRoundRect(dst, cornerRadius, cornerRadius, borderPaint);
+            } else {
+                canvas.drawRect(dst, borderPaint);
+            }
+        }
+    }
+
+    @Override
+    protected final void onBoundsChange(final Rect bounds) {
+        super.onBoundsChange(bounds);
+        updateShaderMatrix(bounds);
+    }
+
+    @Override
+    public final int getIntrinsicWidth() {
+        return shape == Shape.RECTANGLE ? bitmap.getWidth() :
+                Math.min(bitmap.getWidth(), bitmap.getHeight());
+    }
+
+    @Override
+    public final int getIntrinsicHeight() {
+        return shape == Shape.RECTANGLE ? bitmap.getHeight() :
+                Math.min(bitmap.getWidth(), bitmap.getHeight());
+    }
+
+    @Override
+    public final void setAlpha(final int alpha) {
+        paint.setAlpha(alpha);
+        invalidateSelf();
+    }
+
+    @Override
+    public final int getAlpha() {
+        return paint.getAlpha();
+    }
+
+    @Override
+    public final void setColorFilter(@Nullable final ColorFilter colorFilter) {
+        paint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public final int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+}
@@ -0,0 +1,450 @@
+/*
+ * Copyright 2015 - 2019 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.util.graphics;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import de.mrapp.util.Condition;
+
+/**
+ * A parser, which allows to determine the width, height and MIME type of JPEG, PNG, WebP and GIF
+ * images by reading only their headers. Unlike decoding the bounds of an image by using the class
+ * {@link android.graphics.BitmapFactory}, no native decoder is involved and usually only a few
+ * bytes are read. The orientation, which may be specified by the EXIF data of JPEG images, is not
+ * taken into account.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class ImageHeaderParser {
+
+    /**
+     * The header of an image, which has been parsed by an {@link ImageHeaderParser}.
+     */
+    public static final class Header {
+
+        /**
+         * The width of the image in pixels.
+         */
+        private final int width;
+
+        /**
+         * The height of the image in pixels.
+         */
+        private final int height;
+
+        /**
+         * The MIME type of the image.
+         */
+        private final String mimeType;
+
+        /**
+         * Creates a new header of an image.
+         *
+         * @param width
+         *         The width of the image in pixels as an {@link Integer} value
+         * @param height
+         *         The height of the image in pixels as an {@link Integer} value
+         * @param mimeType
+         *         The MIME type of the image as a {@link String} or null, if the MIME type is
+         *         unknown
+         */
+        public Header(final int width, final int height, @Nullable final String mimeType) {
+            this.width = width;
+            this.height = height;
+            this.mimeType = mimeType;
+        }
+
+        /**
+         * Returns the width of the image.
+         *
+         * @return The width of the image in pixels as an {@link Integer} value
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * Returns the height of the image.
+         *
+         * @return The height of the image in pixels as an {@link Integer} value
+         */
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * Returns the MIME type of the image.
+         *
+         * @return The MIME type of the image as a {@link String} or null, if the MIME type is
+         * unknown
+         */
+        @Nullable
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        @Override
+        public String toString() {
+            return "Header [width=" + width + ", height=" + height + ", mimeType=" + mimeType + "]";
+        }
+
+    }
+
+    /**
+     * The MIME type of JPEG images.
+     */
+    public static final String MIME_TYPE_JPEG = "image/jpeg";
+
+    /**
+     * The MIME type of PNG images.
+     */
+    public static final String MIME_TYPE_PNG = "image/png";
+
+    /**
+     * The MIME type of WebP images.
+     */
+    public static final String MIME_TYPE_WEBP = "image/webp";
+
+    /**
+     * The MIME type of GIF images.
+     */
+    public static final String MIME_TYPE_GIF = "image/gif";
+
+    /**
+     * The signature of PNG images, excluding the first byte.
+     */
+    private static final byte[] PNG_SIGNATURE = {'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    /**
+     * Reads a single byte from a specific stream.
+     *
+     * @param inputStream
+     *         The stream, the byte should be read from, as an instance of the class {@link
+     *         InputStream}. The stream may not be null
+     * @return The byte, which has been read, as an {@link Integer} value between 0 and 255
+     * @throws IOException
+     *         The exception, which is thrown, if the end of the stream has been reached or if an
+     *         error occurs while reading from the stream
+     */
+    private static int read(@NonNull final InputStream inputStream) throws IOException {
+        int value = inputStream.read();
+
+        if (value == -1) {
+            throw new EOFException();
+        }
+
+        return value;
+    }
+
+    /**
+     * Reads a specific number of bytes from a specific stream.
+     *
+     * @param inputStream
+     *         The stream, the bytes should be read from, as an instance of the class {@link
+     *         InputStream}. The stream may not be null
+     * @param buffer
+     *         The array, the bytes should be stored in, as a {@link Byte} array. The array may not
+     *         be null
+     * @throws IOException
+     *         The exception, which is thrown, if the end of the stream has been reached or if an
+     *         error occurs while reading from the stream
+     */
+    private static void readFully(@NonNull final InputStream inputStream,
+                                  @NonNull final byte[] buffer) throws IOException {
+        int offset = 0;
+
+        while (offset < buffer.length) {
+            int read = inputStream.read(buffer, offset, buffer.length - offset);
+
+            if (read == -1) {
+                throw new EOFException();
+            }
+
+            offset += read;
+        }
+    }
+
+    /**
+     * Skips a specific number of bytes of a specific stream.
+     *
+     * @param inputStream
+     *         The stream, whose bytes should be skipped, as an instance of the class {@link
+     *         InputStream}. The stream may not be null
+     * @param count
+     *         The number of bytes, which should be skipped, as a {@link Long} value
+     * @throws IOException
+     *         The exception, which is thrown, if the end of the stream has been reached or if an
+     *         error occurs while reading from the stream
+     */
+    private static void skip(@NonNull final InputStream inputStream, final long count)
+            throws IOException {
+        long remaining = count;
+
+        while (remaining > 0) {
+            long skipped = inputStream.skip(remaining);
+
+            if (skipped <= 0) {
+                read(inputStream);
+                skipped = 1;
+            }
+
+            remaining -= skipped;
+        }
+    }
+
+    /**
+     * Returns an unsigned 16 bit integer, which is stored in big endian order within a specific
+     * array.
+     *
+     * @param buffer
+     *         The array as a {@link Byte} array. The array may not be null
+     * @param offset
+     *         The offset of the integer as an {@link Integer} value
+     * @return The integer as an {@link Integer} value
+     */
+    private static int getUInt16BigEndian(@NonNull final byte[] buffer, final int offset) {
+        return ((buffer[offset] & 0xFF) << 8) | (buffer[offset + 1] & 0xFF);
+    }
+
+    /**
+     * Returns an unsigned integer with a specific number of bytes, which is stored in little
+     * endian order within a specific array.
+     *
+     * @param buffer
+     *         The array as a {@link Byte} array. The array may not be null
+     * @param offset
+     *         The offset of the integer as an {@link Integer} value
+     * @param length
+     *         The number of bytes of the integer as an {@link Integer} value. The number of bytes
+     *         must be at maximum 3
+     * @return The integer as an {@link Integer} value
+     */
+    private static int getUIntLittleEndian(@NonNull final byte[] buffer, final int offset,
+                                           final int length) {
+        int value = 0;
+
+        for (int i = length - 1; i >= 0; i--) {
+            value = (value << 8) | (buffer[offset + i] & 0xFF);
+        }
+
+        return value;
+    }
+
+    /**
+     * Parses the header of a JPEG image. The first two bytes of the image must already have been
+     * read.
+     *
+     * @param inputStream
+     *         The stream, the header should be read from, as an instance of the class {@link
+     *         InputStream}. The stream may not be null
+     * @return The header, which has been parsed, as an instance of the class {@link Header} or
+     * null, if the header could not be parsed
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while reading from the stream
+     */
+    @Nullable
+    private static Header parseJpeg(@NonNull final InputStream inputStream) throws IOException {
+        while (true) {
+            if (read(inputStream) != 0xFF) {
+                return null;
+            }
+
+            int marker = read(inputStream);
+
+            while (marker == 0xFF) {
+                marker = read(inputStream);
+            }
+
+            if (marker == 0xD8 || marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                continue;
+            } else if (marker == 0xD9 || marker == 0xDA) {
+                return null;
+            }
+
+            byte[] lengthBuffer = new byte[2];
+            readFully(inputStream, lengthBuffer);
+            int length = getUInt16BigEndian(lengthBuffer, 0);
+
+            if (length < 2) {
+                return null;
+            } else if (marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 &&
+                    marker != 0xCC) {
+                byte[] buffer = new byte[5];
+                readFully(inputStream, buffer);
+                int height = getUInt16BigEndian(buffer, 1);
+                int width = getUInt16BigEndian(buffer, 3);
+                return width > 0 && height > 0 ? new Header(width, height, MIME_TYPE_JPEG) : null;
+            }
+
+            skip(inputStream, length - 2);
+        }
+    }
+
+    /**
+     * Parses the header of a PNG image. The first byte of the image must already have been read.
+     *
+     * @param inputStream
+     *         The stream, the header should be read from, as an instance of the class {@link
+     *         InputStream}. The stream may not be null
+     * @return The header, which has been parsed, as an instance of the class {@link Header} or
+     * null, if the header could not be parsed
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while reading from the stream
+     */
+    @Nullable
+    private static Header parsePng(@NonNull final InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[23];
+        readFully(inputStream, buffer);
+
+        for (int i = 0; i < PNG_SIGNATURE.length; i++) {
+            if (buffer[i] != PNG_SIGNATURE[i]) {
+                return null;
+            }
+        }
+
+        if (buffer[11] != 'I' || buffer[12] != 'H' || buffer[13] != 'D' || buffer[14] != 'R') {
+            return null;
+        }
+
+        int width = (getUInt16BigEndian(buffer, 15) << 16) | getUInt16BigEndian(buffer, 17);
+        int height = (getUInt16BigEndian(buffer, 19) << 16) | getUInt16BigEndian(buffer, 21);
+        return width > 0 && height > 0 ? new Header(width, height, MIME_TYPE_PNG) : null;
+    }
+
+    /**
+     * Parses the header of a GIF image. The first byte of the image must already have been read.
+     *
+     * @param inputStream
+     *         The stream, the header should be read from, as an instance of the class {@link
+     *         InputStream}. The stream may not be null
+     * @return The header, which has been parsed, as an instance of the class {@link Header} or
+     * null, if the header could not be parsed
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while reading from the stream
+     */
+    @Nullable
+    private static Header parseGif(@NonNull final InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[9];
+        readFully(inputStream, buffer);
+
+        if (buffer[0] != 'I' || buffer[1] != 'F' || buffer[2] != '8' ||
+                (buffer[3] != '7' && buffer[3] != '9') || buffer[4] != 'a') {
+            return null;
+        }
+
+        int width = getUIntLittleEndian(buffer, 5, 2);
+        int height = getUIntLittleEndian(buffer, 7, 2);
+        return width > 0 && height > 0 ? new Header(width, height, MIME_TYPE_GIF) : null;
+    }
+
+    /**
+     * Parses the header of a WebP image. The first byte of the image must already have been read.
+     * Lossy, lossless and extended WebP images are supported.
+     *
+     * @param inputStream
+     *         The stream, the header should be read from, as an instance of the class {@link
+     *         InputStream}. The stream may not be null
+     * @return The header, which has been parsed, as an instance of the class {@link Header} or
+     * null, if the header could not be parsed
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while reading from the stream
+     */
+    @Nullable
+    private static Header parseWebP(@NonNull final InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[29];
+        readFully(inputStream, buffer);
+
+        if (buffer[0] != 'I' || buffer[1] != 'F' || buffer[2] != 'F' || buffer[7] != 'W' ||
+                buffer[8] != 'E' || buffer[9] != 'B' || buffer[10] != 'P' || buffer[11] != 'V' ||
+                buffer[12] != 'P' || buffer[13] != '8') {
+            return null;
+        }
+
+        int width;
+        int height;
+
+        if (buffer[14] == ' ') {
+            if ((buffer[22] & 0xFF) != 0x9D || buffer[23] != 0x01 || buffer[24] != 0x2A) {
+                return null;
+            }
+
+            width = getUIntLittleEndian(buffer, 25, 2) & 0x3FFF;
+            height = getUIntLittleEndian(buffer, 27, 2) & 0x3FFF;
+        } else if (buffer[14] == 'L') {
+            if (buffer[19] != 0x2F) {
+                return null;
+            }
+
+            int bits = getUIntLittleEndian(buffer, 20, 3) | ((buffer[23] & 0xFF) << 24);
+            width = (bits & 0x3FFF) + 1;
+            height = ((bits >>> 14) & 0x3FFF) + 1;
+        } else if (buffer[14] == 'X') {
+            width = getUIntLittleEndian(buffer, 23, 3) + 1;
+            height = getUIntLittleEndian(buffer, 26, 3) + 1;
+        } else {
+            return null;
+        }
+
+        return width > 0 && height > 0 ? new Header(width, height, MIME_TYPE_WEBP) : null;
+    }
+
+    /**
+     * Creates a new parser, which allows to determine the width, height and MIME type of images by
+     * reading only their headers.
+     */
+    private ImageHeaderParser() {
+
+    }
+
+    /**
+     * Parses the header of an image, which is read from a specific stream. The stream is
+     * consumed partially, but not closed. It should be buffered, as bytes are read one by one.
+     *
+     * @param inputStream
+     *         The stream, the image should be read from, as an instance of the class {@link
+     *         InputStream}. The stream may not be null
+     * @return The header, which has been parsed, as an instance of the class {@link Header} or
+     * null, if the format of the image is not supported or if the header is malformed
+     * @throws IOException
+     *         The exception, which is thrown, if an error occurs while reading from the stream
+     */
+    @Nullable
+    public static Header parse(@NonNull final InputStream inputStream) throws IOException {
+        Condition.INSTANCE.ensureNotNull(inputStream, "The input stream may not be null");
+
+        try {
+            int first = read(inputStream);
+
+            if (first == 0xFF) {
+                return read(inputStream) == 0xD8 ? parseJpeg(inputStream) : null;
+            } else if (first == 0x89) {
+                return parsePng(inputStream);
+            } else if (first == 'G') {
+                return parseGif(inputStream);
+            } else if (first == 'R') {
+                return parseWebP(inputStream);
+            }
+
+            return null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2015 - 2019 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.util.graphics;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Paint.Align;
+import android.graphics.PorterDuff;
+import android.graphics.Typeface;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.collection.LruCache;
+import androidx.core.util.Pair;
+import de.mrapp.android.util.cache.BitmapPool;
+import de.mrapp.util.Condition;
+
+import static de.mrapp.android.util.DisplayUtil.getDensity;
+
+/**
+ * A renderer, which allows to create bitmaps from texts, e.g. in order to display letter avatars.
+ * Bitmaps, which have been rendered, are kept in a LRU cache, whose size is bounded by the number
+ * of bytes, which are occupied by the bitmaps. When rendering the same text with the same
+ * dimensions, colors, text size and typeface again, the cached bitmap is returned. The {@link
+ * Paint} objects, which are used for rendering, are reused per typeface and text size.
+ * <p>
+ * Bitmaps, which are returned by the renderer, must neither be modified, nor recycled by the
+ * caller, as they may still be cached. If a {@link BitmapPool} is used, new bitmaps are obtained
+ * from the pool, if possible. Bitmaps, which are evicted from the cache, are not returned to the
+ * pool, as they may still be displayed. All methods are thread-safe.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class TextBitmapRenderer {
+
+    /**
+     * The key of a bitmap, which has been rendered by a {@link TextBitmapRenderer}.
+     */
+    private static final class Key {
+
+        /**
+         * The text of the bitmap.
+         */
+        private final String text;
+
+        /**
+         * The width of the bitmap in pixels.
+         */
+        private final int width;
+
+        /**
+         * The height of the bitmap in pixels.
+         */
+        private final int height;
+
+        /**
+         * The background color of the bitmap.
+         */
+        private final int backgroundColor;
+
+        /**
+         * The text size of the bitmap in sp.
+         */
+        private final float textSize;
+
+        /**
+         * The text color of the bitmap.
+         */
+        private final int textColor;
+
+        /**
+         * The typeface of the bitmap or null, if the default typeface is used.
+         */
+        private final Typeface typeface;
+
+        /**
+         * Creates a new key of a bitmap.
+         *
+         * @param text
+         *         The text of the bitmap as a {@link String}. The text may not be null
+         * @param width
+         *         The width of the bitmap in pixels as an {@link Integer} value
+         * @param height
+         *         The height of the bitmap in pixels as an {@link Integer} value
+         * @param backgroundColor
+         *         The background color of the bitmap as an {@link Integer} value
+         * @param textSize
+         *         The text size of the bitmap in sp as a {@link Float} value
+         * @param textColor
+         *         The text color of the bitmap as an {@link Integer} value
+         * @param typeface
+         *         The typeface of the bitmap as an instance of the class {@link Typeface} or null,
+         *         if the default typeface is used
+         */
+        Key(@NonNull final String text, final int width, final int height,
+            final int backgroundColor, final float textSize, final int textColor,
+            @Nullable final Typeface typeface) {
+            this.text = text;
+            this.width = width;
+            this.height = height;
+            this.backgroundColor = backgroundColor;
+            this.textSize = textSize;
+            this.textColor = textColor;
+            this.typeface = typeface;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+            return text.equals(other.text) && width == other.width && height == other.height &&
+                    backgroundColor == other.backgroundColor &&
+                    Float.compare(textSize, other.textSize) == 0 &&
+                    textColor == other.textColor && (typeface == null ? other.typeface == null :
+                    typeface.equals(other.typeface));
+        }
+
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + text.hashCode();
+            result = prime * result + width;
+            result = prime * result + height;
+            result = prime * result + backgroundColor;
+            result = prime * result + Float.floatToIntBits(textSize);
+            result = prime * result + textColor;
+            result = prime * result + (typeface == null ? 0 : typeface.hashCode());
+            return result;
+        }
+
+    }
+
+    /**
+     * The maximum number of paints, which are cached.
+     */
+    private static final int MAX_PAINT_COUNT = 16;
+
+    /**
+     * The density of the display, which is used to convert text sizes from sp to pixels.
+     */
+    private final float density;
+
+    /**
+     * The pool, which is used to obtain bitmaps, or null, if no pool is used.
+     */
+    private final BitmapPool pool;
+
+    /**
+     * The LRU cache, which contains the bitmaps, which have been rendered.
+     */
+    private final LruCache<Key, Bitmap> cache;
+
+    /**
+     * The LRU cache, which contains the paints, which are used for rendering, per typeface and
+     * text size.
+     */
+    private final LruCache<Pair<Typeface, Float>, Paint> paints;
+
+    /**
+     * The canvas, which is used for rendering.
+     */
+    private final Canvas canvas;
+
+    /**
+     * Returns the paint, which should be used to render text with a specific typeface and size.
+     * If no such paint is cached, a new one is created.
+     *
+     * @param typeface
+     *         The typeface as an instance of the class {@link Typeface} or null, if the default
+     *         typeface should be used
+     * @param textSize
+     *         The text size in pixels as a {@link Float} value
+     * @return The paint as an instance of the class {@link Paint}. The paint may not be null
+     */
+    @NonNull
+    private Paint getPaint(@Nullable final Typeface typeface, final float textSize) {
+        Pair<Typeface, Float> key = Pair.create(typeface, textSize);
+        Paint paint = paints.get(key);
+
+        if (paint == null) {
+            paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            paint.setTextSize(textSize);
+            paint.setTextAlign(Align.CENTER);
+
+            if (typeface != null) {
+                paint.setTypeface(typeface);
+            }
+
+            paints.put(key, paint);
+        }
+
+        return paint;
+    }
+
+    /**
+     * Creates a new bitmap with a specific width and height. If a pool is used, the bitmap is
+     * obtained from the pool, if possible.
+     *
+     * @param width
+     *         The width of the bitmap in pixels as an {@link Integer} value
+     * @param height
+     *         The height of the bitmap in pixels as an {@link Integer} value
+     * @return The bitmap as an instance of the class {@link Bitmap}. The bitmap may not be null.
+     * Its pixels are undefined
+     */
+    @NonNull
+    private Bitmap createBitmap(final int width, final int height) {
+        Bitmap bitmap = null;
+
+        if (pool != null) {
+            bitmap = pool.getDirty(width, height, Bitmap.Config.ARGB_8888);
+        }
+
+        if (bitmap == null) {
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        }
+
+        return bitmap;
+    }
+
+    /**
+     * Creates a new renderer, whose cache has a specific maximum size.
+     *
+     * @param context
+     *         The context, which should be used, as an instance of the class {@link Context}. The
+     *         context may not be null
+     * @param maxCacheSize
+     *         The maximum size of the cache in bytes as an {@link Integer} value. The maximum size
+     *         must be at least 1
+     */
+    public TextBitmapRenderer(@NonNull final Context context, final int maxCacheSize) {
+        this(context, maxCacheSize, null);
+    }
+
+    /**
+     * Creates a new renderer, whose cache has a specific maximum size and which obtains bitmaps
+     * from a specific pool.
+     *
+     * @param context
+     *         The context, which should be used, as an instance of the class {@link Context}. The
+     *         context may not be null
+     * @param maxCacheSize
+     *         The maximum size of the cache in bytes as an {@link Integer} value. The maximum size
+     *         must be at least 1
+     * @param pool
+     *         The pool, bitmaps should be obtained from, as an instance of the class {@link
+     *         BitmapPool} or null, if no pool should be used
+     */
+    public TextBitmapRenderer(@NonNull final Context context, final int maxCacheSize,
+                              @Nullable final BitmapPool pool) {
+        Condition.INSTANCE.ensureNotNull(context, "The context may not be null");
+        Condition.INSTANCE
+                .ensureAtLeast(maxCacheSize, 1, "The maximum cache size must be at least 1");
+        this.density = getDensity(context);
+        this.pool = pool;
+        this.cache = new LruCache<Key, Bitmap>(maxCacheSize) {
+
+            @Override
+            protected int sizeOf(@NonNull final Key key, @NonNull final Bitmap value) {
+                return value.getByteCount();
+            }
+
+        };
+        this.paints = new LruCache<>(MAX_PAINT_COUNT);
+        this.canvas = new Canvas();
+    }
+
+    /**
+     * Returns a bitmap, which shows a specific text. The text is centered. If such a bitmap has
+     * been rendered before and is still cached, the cached bitmap is returned.
+     *
+     * @param width
+     *         The width of the bitmap in pixels as an {@link Integer} value. The width must be at
+     *         least 1
+     * @param height
+     *         The height of the bitmap in pixels as an {@link Integer} value. The height must be at
+     *         least 1
+     * @param backgroundColor
+     *         The background color of the bitmap as an {@link Integer} value
+     * @param text
+     *         The text, which should be shown, as an instance of the type {@link CharSequence}.
+     *         The text may neither be null, nor empty
+     * @param textSize
+     *         The text size, which should be used, in sp as a {@link Float} value. The text size
+     *         must be at least 1
+     * @param textColor
+     *         The text color, which should be used, as an {@link Integer} value
+     * @param typeface
+     *         The typeface, which should be used, as an instance of the class {@link Typeface} or
+     *         null, if the default typeface should be used
+     * @return The bitmap as an instance of the class {@link Bitmap}. The bitmap may not be null.
+     * It must neither be modified, nor recycled
+     */
+    @NonNull
+    public final Bitmap render(final int width, final int height,
+                               @ColorInt final int backgroundColor,
+                               @NonNull final CharSequence text, final float textSize,
+                               @ColorInt final int textColor, @Nullable final Typeface typeface) {
+        Condition.INSTANCE.ensureAtLeast(width, 1, "The width must be at least 1");
+        Condition.INSTANCE.ensureAtLeast(height, 1, "The height must be at least 1");
+        Condition.INSTANCE.ensureNotNull(text, "The text may not be null");
+        Condition.INSTANCE.ensureNotEmpty(text, "The text may not be empty");
+        Condition.INSTANCE.ensureAtLeast(textSize, 1, "The text size must be at least 1");
+        String string = text.toString();
+        Key key = new Key(string, width, height, backgroundColor, textSize, textColor, typeface);
+        Bitmap bitmap = cache.get(key);
+
+        if (bitmap == null) {
+            synchronized (canvas) {
+                bitmap = cache.get(key);
+
+                if (bitmap == null) {
+                    bitmap = createBitmap(width, height);
+                    Paint paint = getPaint(typeface, textSize * density);
+                    paint.setColor(textColor);
+                    canvas.setBitmap(bitmap);
+                    canvas.drawColor(backgroundColor, PorterDuff.Mode.SRC);
+                    float x = width / 2f;
+                    float y = (height / 2f) - ((paint.descent() + paint.ascent()) / 2f);
+                    canvas.drawText(string, x, y, paint);
+                    canvas.setBitmap(null);
+                    cache.put(key, bitmap);
+                }
+            }
+        }
+
+        return bitmap;
+    }
+
+    /**
+     * Removes all bitmaps from the cache.
+     */
+    public final void clearCache() {
+        cache.evictAll();
+    }
+
+    /**
+     * Removes the least recently used bitmaps from the cache, until its size is less than or
+     * equal to a specific size.
+     *
+     * @param size
+     *         The size, the cache should be trimmed to, in bytes as an {@link Integer} value. The
+     *         size must be at least 0
+     */
+    public final void trimCache(final int size) {
+        Condition.INSTANCE.ensureAtLeast(size, 0, "The size must be at least 0");
+        cache.trimToSize(size);
+    }
+
+    /**
+     * Returns the size of the cache.
+     *
+     * @return The size of the cache in bytes as an {@link Integer} value
+     */
+    public final int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the maximum size of the cache.
+     *
+     * @return The maximum size of the cache in bytes as an {@link Integer} value
+     */
+    public final int getMaxCacheSize() {
+        return cache.maxSize();
+    }
+
+}
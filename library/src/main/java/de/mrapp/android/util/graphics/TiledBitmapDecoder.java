@@ -0,0 +1,410 @@
+/*
+ * Copyright 2015 - 2019 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.util.graphics;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Rect;
+
+import java.io.File;
+import java.io.IOException;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.collection.LruCache;
+import de.mrapp.util.Condition;
+
+/**
+ * A decoder, which allows to decode very large images in tiles by using a {@link
+ * BitmapRegionDecoder}. Only the tiles, which are actually requested, are decoded, i.e. the image
+ * is never loaded into memory completely. Tiles, which have been decoded, are kept in a LRU cache,
+ * whose size is bounded by the number of bytes, which are occupied by the tiles.
+ * <p>
+ * Each tile has the same size in pixels, regardless of the sample size, which is used to decode
+ * it. The tiles at the right and bottom edges of the image may be smaller. Tiles, which are
+ * returned by the decoder, must not be recycled by the caller, as they may still be cached.
+ * Instead, the method {@link #recycle()} should be called, once the decoder is not needed
+ * anymore. All methods are thread-safe.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class TiledBitmapDecoder {
+
+    /**
+     * Defines the interface, a class, which should be notified, when tiles have been decoded,
+     * must implement.
+     */
+    public interface Callback {
+
+        /**
+         * The method, which is invoked, when a tile has been decoded or retrieved from the cache.
+         *
+         * @param column
+         *         The column of the tile as an {@link Integer} value
+         * @param row
+         *         The row of the tile as an {@link Integer} value
+         * @param bounds
+         *         The region of the image, which is covered by the tile, in pixels of the
+         *         original image as an instance of the class {@link Rect}. The region may not be
+         *         null. It must not be retained, as it is reused for subsequent tiles
+         * @param tile
+         *         The tile as an instance of the class {@link Bitmap}. The tile may not be null
+         */
+        void onTileDecoded(int column, int row, @NonNull Rect bounds, @NonNull Bitmap tile);
+
+    }
+
+    /**
+     * The size of the tiles, which are used by default, in pixels.
+     */
+    public static final int DEFAULT_TILE_SIZE = 256;
+
+    /**
+     * The decoder, which is used to decode tiles.
+     */
+    private final BitmapRegionDecoder decoder;
+
+    /**
+     * The width of the image in pixels.
+     */
+    private final int width;
+
+    /**
+     * The height of the image in pixels.
+     */
+    private final int height;
+
+    /**
+     * The size of the tiles in pixels.
+     */
+    private final int tileSize;
+
+    /**
+     * The cache, which contains the tiles, which have been decoded.
+     */
+    private final LruCache<Long, Bitmap> cache;
+
+    /**
+     * Returns the key, which identifies a specific tile in the cache.
+     *
+     * @param column
+     *         The column of the tile as an {@link Integer} value
+     * @param row
+     *         The row of the tile as an {@link Integer} value
+     * @param sampleSize
+     *         The sample size of the tile as an {@link Integer} value
+     * @return The key, which identifies the given tile, as a {@link Long} value
+     */
+    private static long getKey(final int column, final int row, final int sampleSize) {
+        return ((long) sampleSize << 48) | ((long) row << 24) | column;
+    }
+
+    /**
+     * Creates a new decoder, which uses <code>DEFAULT_TILE_SIZE</code> as the size of tiles.
+     *
+     * @param file
+     *         The image file, which should be decoded, as an instance of the class {@link File}.
+     *         The file may not be null. The file must exist and must not be a directory. It must
+     *         either be a JPEG, PNG or WebP image
+     * @param maxCacheSize
+     *         The maximum size of the cache, which contains the tiles, which have been decoded,
+     *         in bytes as an {@link Integer} value. The maximum size must be at least 1
+     * @throws IOException
+     *         The exception, which is thrown, if the image file could not be opened
+     */
+    public TiledBitmapDecoder(@NonNull final File file, final int maxCacheSize)
+            throws IOException {
+        this(file, DEFAULT_TILE_SIZE, maxCacheSize);
+    }
+
+    /**
+     * Creates a new decoder, which uses a specific size of tiles.
+     *
+     * @param file
+     *         The image file, which should be decoded, as an instance of the class {@link File}.
+     *         The file may not be null. The file must exist and must not be a directory. It must
+     *         either be a JPEG, PNG or WebP image
+     * @param tileSize
+     *         The size of the tiles in pixels as an {@link Integer} value. The size must be at
+     *         least 1
+     * @param maxCacheSize
+     *         The maximum size of the cache, which contains the tiles, which have been decoded,
+     *         in bytes as an {@link Integer} value. The maximum size must be at least 1
+     * @throws IOException
+     *         The exception, which is thrown, if the image file could not be opened
+     */
+    public TiledBitmapDecoder(@NonNull final File file, final int tileSize,
+                              final int maxCacheSize) throws IOException {
+        Condition.INSTANCE.ensureNotNull(file, "The file may not be null");
+        Condition.INSTANCE
+                .ensureFileIsNoDirectory(file, "The file must exist and must not be a directory");
+        Condition.INSTANCE.ensureAtLeast(tileSize, 1, "The tile size must be at least 1");
+        Condition.INSTANCE
+                .ensureAtLeast(maxCacheSize, 1, "The maximum cache size must be at least 1");
+        String path = file.getAbsolutePath();
+        this.decoder = BitmapRegionDecoder.newInstance(path, false);
+
+        if (decoder == null) {
+            throw new IOException("Failed to decode image \"" + path + "\"");
+        }
+
+        this.width = decoder.getWidth();
+        this.height = decoder.getHeight();
+        this.tileSize = tileSize;
+        this.cache = new LruCache<Long, Bitmap>(maxCacheSize) {
+
+            @Override
+            protected int sizeOf(@NonNull final Long key, @NonNull final Bitmap value) {
+                return value.getByteCount();
+            }
+
+        };
+    }
+
+    /**
+     * Returns the width of the image.
+     *
+     * @return The width of the image in pixels as an {@link Integer} value
+     */
+    public final int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the image.
+     *
+     * @return The height of the image in pixels as an {@link Integer} value
+     */
+    public final int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the size of the tiles.
+     *
+     * @return The size of the tiles in pixels as an {@link Integer} value
+     */
+    public final int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Returns the number of columns, the image is split into, when using a specific sample size.
+     *
+     * @param sampleSize
+     *         The sample size as an {@link Integer} value. The sample size must be at least 1
+     * @return The number of columns as an {@link Integer} value
+     */
+    public final int getColumnCount(final int sampleSize) {
+        Condition.INSTANCE.ensureAtLeast(sampleSize, 1, "The sample size must be at least 1");
+        long size = (long) tileSize * sampleSize;
+        return (int) ((width + size - 1) / size);
+    }
+
+    /**
+     * Returns the number of rows, the image is split into, when using a specific sample size.
+     *
+     * @param sampleSize
+     *         The sample size as an {@link Integer} value. The sample size must be at least 1
+     * @return The number of rows as an {@link Integer} value
+     */
+    public final int getRowCount(final int sampleSize) {
+        Condition.INSTANCE.ensureAtLeast(sampleSize, 1, "The sample size must be at least 1");
+        long size = (long) tileSize * sampleSize;
+        return (int) ((height + size - 1) / size);
+    }
+
+    /**
+     * Returns the region of the image, which is covered by a specific tile.
+     *
+     * @param column
+     *         The column of the tile as an {@link Integer} value. The column must be at least 0
+     *         and less than the number of columns
+     * @param row
+     *         The row of the tile as an {@link Integer} value. The row must be at least 0 and less
+     *         than the number of rows
+     * @param sampleSize
+     *         The sample size as an {@link Integer} value. The sample size must be at least 1
+     * @param bounds
+     *         The rectangle, the region should be stored in, as an instance of the class {@link
+     *         Rect}. The rectangle may not be null
+     */
+    public final void getTileBounds(final int column, final int row, final int sampleSize,
+                                    @NonNull final Rect bounds) {
+        Condition.INSTANCE.ensureAtLeast(column, 0, "The column must be at least 0");
+        Condition.INSTANCE.ensureSmaller(column, getColumnCount(sampleSize),
+                "The column must be less than the number of columns");
+        Condition.INSTANCE.ensureAtLeast(row, 0, "The row must be at least 0");
+        Condition.INSTANCE.ensureSmaller(row, getRowCount(sampleSize),
+                "The row must be less than the number of rows");
+        Condition.INSTANCE.ensureNotNull(bounds, "The bounds may not be null");
+        int size = tileSize * sampleSize;
+        int left = column * size;
+        int top = row * size;
+        bounds.set(left, top, Math.min(width, left + size), Math.min(height, top + size));
+    }
+
+    /**
+     * Returns a specific tile. If the tile is not cached, it is decoded. As decoding may take a
+     * while, this method should not be called on the UI thread.
+     *
+     * @param column
+     *         The column of the tile as an {@link Integer} value. The column must be at least 0
+     *         and less than the number of columns
+     * @param row
+     *         The row of the tile as an {@link Integer} value. The row must be at least 0 and less
+     *         than the number of rows
+     * @param sampleSize
+     *         The sample size, which should be used to downsample the tile, as an {@link Integer}
+     *         value. The sample size must be at least 1
+     * @return The tile as an instance of the class {@link Bitmap} or null, if the tile could not be
+     * decoded
+     */
+    @Nullable
+    public final Bitmap getTile(final int column, final int row, final int sampleSize) {
+        Rect bounds = new Rect();
+        getTileBounds(column, row, sampleSize, bounds);
+        return getTile(column, row, sampleSize, bounds);
+    }
+
+    /**
+     * Returns a specific tile, whose region is already known. If the tile is not cached, it is
+     * decoded. Decoding and recycling the decoder are synchronized, as the decoder must not be
+     * recycled while a tile is decoded.
+     *
+     * @param column
+     *         The column of the tile as an {@link Integer} value
+     * @param row
+     *         The row of the tile as an {@link Integer} value
+     * @param sampleSize
+     *         The sample size, which should be used to downsample the tile, as an {@link Integer}
+     *         value
+     * @param bounds
+     *         The region of the image, which is covered by the tile, as an instance of the class
+     *         {@link Rect}. The region may not be null
+     * @return The tile as an instance of the class {@link Bitmap} or null, if the tile could not be
+     * decoded
+     */
+    @Nullable
+    private Bitmap getTile(final int column, final int row, final int sampleSize,
+                           @NonNull final Rect bounds) {
+        long key = getKey(column, row, sampleSize);
+        Bitmap tile = cache.get(key);
+
+        if (tile == null) {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inSampleSize = sampleSize;
+
+            synchronized (decoder) {
+                if (!decoder.isRecycled()) {
+                    tile = decoder.decodeRegion(bounds, options);
+
+                    if (tile != null) {
+                        cache.put(key, tile);
+                    }
+                }
+            }
+        }
+
+        return tile;
+    }
+
+    /**
+     * Decodes all tiles, which intersect with a specific region of the image, one after another
+     * and passes them to a callback. Tiles, which are already cached, are not decoded again. As
+     * decoding may take a while, this method should not be called on the UI thread.
+     *
+     * @param region
+     *         The region of the image, whose tiles should be decoded, in pixels of the original
+     *         image as an instance of the class {@link Rect}. The region may not be null
+     * @param sampleSize
+     *         The sample size, which should be used to downsample the tiles, as an {@link
+     *         Integer} value. The sample size must be at least 1
+     * @param callback
+     *         The callback, the tiles should be passed to, as an instance of the type {@link
+     *         Callback}. The callback may not be null
+     */
+    public final void decodeRegion(@NonNull final Rect region, final int sampleSize,
+                                   @NonNull final Callback callback) {
+        Condition.INSTANCE.ensureNotNull(region, "The region may not be null");
+        Condition.INSTANCE.ensureAtLeast(sampleSize, 1, "The sample size must be at least 1");
+        Condition.INSTANCE.ensureNotNull(callback, "The callback may not be null");
+
+        if (region.right <= 0 || region.bottom <= 0 || region.left >= width ||
+                region.top >= height) {
+            return;
+        }
+
+        int size = tileSize * sampleSize;
+        int firstColumn = Math.max(0, region.left / size);
+        int lastColumn = Math.min(getColumnCount(sampleSize) - 1, (region.right - 1) / size);
+        int firstRow = Math.max(0, region.top / size);
+        int lastRow = Math.min(getRowCount(sampleSize) - 1, (region.bottom - 1) / size);
+        Rect bounds = new Rect();
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                getTileBounds(column, row, sampleSize, bounds);
+                Bitmap tile = getTile(column, row, sampleSize, bounds);
+
+                if (tile != null) {
+                    callback.onTileDecoded(column, row, bounds, tile);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all tiles from the cache.
+     */
+    public final void clearCache() {
+        cache.evictAll();
+    }
+
+    /**
+     * Removes the least recently used tiles from the cache, until its size is less than or equal
+     * to a specific size.
+     *
+     * @param size
+     *         The size, the cache should be trimmed to, in bytes as an {@link Integer} value. The
+     *         size must be at least 0
+     */
+    public final void trimCache(final int size) {
+        Condition.INSTANCE.ensureAtLeast(size, 0, "The size must be at least 0");
+        cache.trimToSize(size);
+    }
+
+    /**
+     * Releases the resources of the decoder and removes all tiles from the cache. Afterwards, no
+     * more tiles can be decoded.
+     */
+    public final void recycle() {
+        synchronized (decoder) {
+            decoder.recycle();
+            cache.evictAll();
+        }
+    }
+
+    /**
+     * Returns, whether the decoder has been recycled.
+     *
+     * @return True, if the decoder has been recycled, false otherwise
+     */
+    public final boolean isRecycled() {
+        return decoder.isRecycled();
+    }
+
+}
@@ -69,6 +69,22 @@ public class Logger {
         this.logLevel = logLevel;
     }
 
+    /**
+     * Returns, whether log messages on a specific log level are written to the output, or not.
+     * This method may be used in order to avoid building log messages, which would be discarded
+     * anyway.
+     *
+     * @param logLevel
+     *         The log level, which should be checked, as a value of the enum {@link LogLevel}. The
+     *         log level may not be null
+     * @return True, if log messages on the given log level are written to the output, false
+     * otherwise
+     */
+    public final boolean isLoggable(@NonNull final LogLevel logLevel) {
+        Condition.INSTANCE.ensureNotNull(logLevel, "The log level may not be null");
+        return logLevel.getRank() >= getLogLevel().getRank();
+    }
+
     /**
      * Logs a specific message on the log level VERBOSE.
      *
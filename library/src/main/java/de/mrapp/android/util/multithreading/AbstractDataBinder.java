@@ -13,21 +13,42 @@
  */
 package de.mrapp.android.util.multithreading;
 
+import android.annotation.TargetApi;
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.os.Build;
 import android.os.Handler;
 import android.os.Message;
-import android.view.View;
+import android.os.SystemClock;
+import android.view.Choreographer;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.UiThread;
 import androidx.collection.LruCache;
+import androidx.core.util.Pools;
+import de.mrapp.android.util.cache.DiskCache;
 import de.mrapp.android.util.logging.LogLevel;
 import de.mrapp.android.util.logging.Logger;
 import de.mrapp.util.Condition;
@@ -42,7 +63,12 @@ import de.mrapp.util.datastructure.ListenerList;
  * <p>
  * The binder supports to use adapter views, which might be recycled while data is still loaded. In
  * such case, the recycled view is prevented from showing the data once loading has finished,
- * because it is already used for other purposes.
+ * because it is already used for other purposes. If the same data is requested for multiple views
+ * at the same time, it is only loaded once and displayed by all of these views afterwards.
+ * <p>
+ * If a batch window is set, the data, which is requested within this window, is loaded at once by
+ * using the method {@link #doInBackgroundBatch(Collection)}. This is useful, if loading multiple
+ * data items at once is cheaper than loading them individually, e.g. when querying a database.
  *
  * @param <DataType>
  *         The type of the data, which is bound to views
@@ -85,7 +111,9 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
          *         An array, which contains optional parameters, as an array of the type ParamType
          *         or an empty array, if no parameters should be used
          * @return True, if the loading the data should be proceeded, false otherwise. When
-         * returning false, the method gets invoked repeatedly until true is returned.
+         * returning false, loading the data is deferred without blocking a thread until the data
+         * binder's method <code>resumeDeferredTasks</code> is called. The method gets invoked
+         * again for each deferred task at that time
          */
         @SuppressWarnings("unchecked")
         boolean onLoadData(
@@ -130,9 +158,72 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
 
     }
 
+    /**
+     * A request to display the data, which is loaded by a {@link Task}, in a specific view.
+     *
+     * @param <DataType>
+     *         The type of the data, which is bound to views
+     * @param <ViewType>
+     *         The type of the views, which are used to display data
+     * @param <ParamType>
+     *         The type of parameters, which can be passed when loading data
+     */
+    private static class Request<DataType, ViewType, ParamType> {
+
+        /**
+         * The time, when the request was created.
+         */
+        private final long startTime;
+
+        /**
+         * The view, which should be used to display the data.
+         */
+        private final ViewType view;
+
+        /**
+         * An array, which contains optional parameters.
+         */
+        private final ParamType[] params;
+
+        /**
+         * The future, which is completed once the data has been loaded, or null, if no future is
+         * associated with the request.
+         */
+        @Nullable
+        private LoadFuture<DataType> future;
+
+        /**
+         * The stale data, which is already displayed by the view, while the data is revalidated,
+         * or null, if the data is not revalidated.
+         */
+        @Nullable
+        private DataType staleData;
+
+        /**
+         * Creates a new request.
+         *
+         * @param view
+         *         The view, which should be used to display the data, as an instance of the
+         *         generic type ViewType. The view may not be null
+         * @param params
+         *         An array, which contains optional parameters, as an array of the type ParamType
+         *         or an empty array, if no parameters should be used
+         */
+        Request(@NonNull final ViewType view, @NonNull final ParamType[] params) {
+            this.startTime = System.currentTimeMillis();
+            this.view = view;
+            this.params = params;
+            this.future = null;
+            this.staleData = null;
+        }
+
+    }
+
     /**
      * A task, which encapsulates all information, which is required to asynchronously load data and
-     * display it afterwards. It also contains the data once loaded.
+     * display it afterwards. It also contains the data once loaded. A task may be shared by
+     * multiple requests, which display the same data in different views. Tasks are pooled in order
+     * to reduce allocations and therefore are reinitialized, when being reused.
      *
      * @param <DataType>
      *         The type of the data, which is bound to views
@@ -148,22 +239,51 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
         /**
          * The time, when the task was created.
          */
-        private final long startTime;
+        private long startTime;
 
         /**
-         * The view, which should be used to display the data.
+         * The key of the data, which should be loaded. If transformations are applied to the
+         * data, it corresponds to the key of the transformed data.
          */
-        private final ViewType view;
+        private KeyType key;
+
+        /**
+         * The key of the data, which should be loaded, before any transformations are applied.
+         */
+        private KeyType baseKey;
+
+        /**
+         * A list, which contains the transformations, which should be applied to the loaded data.
+         */
+        private List<Transformation<DataType>> transformations;
 
         /**
-         * The key of the data, which should be loaded.
+         * A list, which contains the keys, the results of the individual transformations should be
+         * cached under. A key is null, if the corresponding result should not be cached.
          */
-        private final KeyType key;
+        private List<KeyType> stageKeys;
+
+        /**
+         * True, if the task has been completed and the futures of its requests have been
+         * completed, false otherwise.
+         */
+        private boolean completed;
+
+        /**
+         * True, if the task revalidates stale data and therefore must not retrieve the data from
+         * the cache, false otherwise.
+         */
+        private boolean revalidate;
 
         /**
          * An array, which contains optional parameters.
          */
-        private final ParamType[] params;
+        private ParamType[] params;
+
+        /**
+         * A list, which contains the requests, which wait for the data to be loaded.
+         */
+        private final List<Request<DataType, ViewType, ParamType>> requests;
 
         /**
          * The data, which has been loaded.
@@ -172,11 +292,86 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
         private DataType result;
 
         /**
-         * Creates a new task
+         * The time, when the task has been deferred, because a listener did not allow to load its
+         * data yet.
+         */
+        private long deferralTime;
+
+        /**
+         * True, if the task is currently contained by the queue of deferred tasks, false
+         * otherwise.
+         */
+        private volatile boolean deferred;
+
+        /**
+         * The time in nanoseconds, when the task has been submitted to the thread pool.
+         */
+        private long submitTime;
+
+        /**
+         * The time in nanoseconds, when the task has been completed and its result has been added
+         * to the queue of results, which should be delivered to the UI thread.
+         */
+        private long completionTime;
+
+        /**
+         * The future, which allows to cancel the task, if it is executed asynchronously.
+         */
+        @Nullable
+        private Future<?> future;
+
+        /**
+         * True, if the task has been canceled, false otherwise.
+         */
+        private volatile boolean canceled;
+
+        /**
+         * True, if the task has been created in order to prefetch data, and no view has requested
+         * the data yet, false otherwise.
+         */
+        private volatile boolean prefetch;
+
+        /**
+         * The generation of the task. It is incremented whenever the task is initialized or
+         * recycled in order to prevent runnables, which have been submitted for a previous use of
+         * the task, from executing it.
+         */
+        private volatile int generation;
+
+        /**
+         * The state of the task. The least significant bit is set, if the execution of the task
+         * has been started, the remaining bits correspond to the generation of the task. It
+         * prevents the task from being executed multiple times, if it has been submitted again
+         * with a different priority, or if it has been reused in the meantime.
+         */
+        private final AtomicInteger state;
+
+        /**
+         * The runnable, which is used to execute the task asynchronously, or null, if it has not
+         * been created yet. It is reused, as long as the generation of the task does not change.
+         */
+        @Nullable
+        private Runnable runnable;
+
+        /**
+         * The generation of the task, the runnable has been created for.
+         */
+        private int runnableGeneration;
+
+        /**
+         * Creates a new task.
+         */
+        Task() {
+            this.requests = new ArrayList<>(1);
+            this.generation = 0;
+            this.state = new AtomicInteger(0);
+            this.runnable = null;
+            this.runnableGeneration = -1;
+        }
+
+        /**
+         * Initializes the task.
          *
-         * @param view
-         *         The view, which should be used to display the data, as an instance of the class
-         *         {@link View}. The view may not be null
          * @param key
          *         The key of the data, which should be loaded, as an instance of the generic type
          *         KeyType. The key may not be null
@@ -184,230 +379,1836 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
          *         An array, which contains optional parameters, as an array of the type ParamType
          *         or an empty array, if no parameters should be used
          */
-        Task(@NonNull final ViewType view, @NonNull final KeyType key,
-             @NonNull final ParamType[] params) {
+        void init(@NonNull final KeyType key, @NonNull final ParamType[] params) {
             this.startTime = System.currentTimeMillis();
-            this.view = view;
             this.key = key;
+            this.baseKey = key;
+            this.transformations = Collections.emptyList();
+            this.stageKeys = Collections.emptyList();
+            this.completed = false;
+            this.revalidate = false;
             this.params = params;
             this.result = null;
+            this.deferralTime = -1;
+            this.deferred = false;
+            this.submitTime = 0;
+            this.completionTime = 0;
+            this.future = null;
+            this.prefetch = false;
+            this.generation++;
+            this.state.set(generation << 1);
+            this.canceled = false;
+        }
+
+        /**
+         * Resets the task in order to be able to reuse it. The task is marked as canceled until
+         * it is initialized again and its generation is incremented, which prevents runnables,
+         * which still refer to the task, from executing it.
+         */
+        void recycle() {
+            this.canceled = true;
+            this.generation++;
+            this.state.set((generation << 1) | 1);
+
+            if (future != null) {
+                future.cancel(false);
+            }
+
+            this.key = null;
+            this.baseKey = null;
+            this.transformations = Collections.emptyList();
+            this.stageKeys = Collections.emptyList();
+            this.params = null;
+            this.result = null;
+            this.future = null;
+            this.deferred = false;
+            this.requests.clear();
+        }
+
+        /**
+         * Marks the task as started, unless it has already been started or its generation has
+         * changed.
+         *
+         * @param generation
+         *         The generation of the task, which should be started, as an {@link Integer} value
+         * @return True, if the task has been marked as started, false otherwise
+         */
+        boolean start(final int generation) {
+            return state.compareAndSet(generation << 1, (generation << 1) | 1);
+        }
+
+        /**
+         * Marks the task as not started, in order to be able to execute it again.
+         */
+        void resetStarted() {
+            state.set(generation << 1);
+        }
+
+        /**
+         * Removes the request, which belongs to a specific view, from the task.
+         *
+         * @param view
+         *         The view, whose request should be removed, as an instance of the generic type
+         *         ViewType. The view may not be null
+         * @return The request, which has been removed, as an instance of the class {@link
+         * Request} or null, if the task does not contain a request, which belongs to the given view
+         */
+        @Nullable
+        Request<DataType, ViewType, ParamType> removeRequest(@NonNull final ViewType view) {
+            for (int i = 0; i < requests.size(); i++) {
+                if (requests.get(i).view == view) {
+                    return requests.remove(i);
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Returns the request, which belongs to a specific view.
+         *
+         * @param view
+         *         The view, whose request should be returned, as an instance of the generic type
+         *         ViewType. The view may not be null
+         * @return The request, which belongs to the given view, as an instance of the class
+         * {@link Request} or null, if the task does not contain such a request
+         */
+        @Nullable
+        Request<DataType, ViewType, ParamType> getRequest(@NonNull final ViewType view) {
+            for (Request<DataType, ViewType, ParamType> request : requests) {
+                if (request.view == view) {
+                    return request;
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Cancels the task. If the task has not been started yet, it will not be executed at all.
+         * Otherwise, its result will be discarded once loading the data has been finished.
+         */
+        void cancel() {
+            canceled = true;
+
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+    }
+
+    /**
+     * A runnable, which executes a task in order to load data asynchronously. Its priority is
+     * taken into account, if a {@link PriorityThreadPoolExecutor} is used. A runnable only
+     * executes a task, as long as the task has not been reused in the meantime.
+     */
+    private class LoadRunnable implements Runnable, PriorityThreadPoolExecutor.Prioritized {
+
+        /**
+         * The task, which is executed by the runnable.
+         */
+        private final Task<DataType, KeyType, ViewType, ParamType> task;
+
+        /**
+         * The generation of the task, which is executed by the runnable.
+         */
+        private final int generation;
+
+        /**
+         * Creates a new runnable.
+         *
+         * @param task
+         *         The task, which should be executed, as an instance of the class {@link Task}.
+         *         The task may not be null
+         * @param generation
+         *         The generation of the task, which should be executed, as an {@link Integer}
+         *         value
+         */
+        LoadRunnable(@NonNull final Task<DataType, KeyType, ViewType, ParamType> task,
+                     final int generation) {
+            this.task = task;
+            this.generation = generation;
+        }
+
+        @Override
+        public int getPriority() {
+            return task.prefetch ? PREFETCH_PRIORITY : PriorityThreadPoolExecutor.DEFAULT_PRIORITY;
+        }
+
+        @Override
+        public void run() {
+            if (task.start(generation)) {
+                if (isCanceled() || task.canceled) {
+                    discardTask(task);
+                    return;
+                }
+
+                queueWaitHistogram.record(System.nanoTime() - task.submitTime);
+                long signal = resumeSignal.get();
+
+                if (notifyOnLoad(task.baseKey, task.params)) {
+                    task.result = loadData(task);
+                    deliverResult(task);
+                } else {
+                    deferTask(task, signal);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * A frame callback, which delivers the results of completed tasks to the UI thread once per
+     * frame.
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private class DeliveryFrameCallback implements Choreographer.FrameCallback {
+
+        @Override
+        public void doFrame(final long frameTimeNanos) {
+            deliverCompletedTasks();
+        }
+
+    }
+
+    /**
+     * A cache, which measures the size of cached data by using the method {@link
+     * #sizeOf(Object, Object)} of the data binder.
+     */
+    private class DataCache extends LruCache<KeyType, DataType> {
+
+        /**
+         * Creates a new cache.
+         *
+         * @param maxSize
+         *         The maximum size of the cache as an {@link Integer} value. The maximum size must
+         *         be at least 1
+         */
+        DataCache(final int maxSize) {
+            super(maxSize);
+        }
+
+        @Override
+        protected int sizeOf(@NonNull final KeyType key, @NonNull final DataType value) {
+            return AbstractDataBinder.this.sizeOf(key, value);
+        }
+
+        @Override
+        protected void entryRemoved(final boolean evicted, @NonNull final KeyType key,
+                                    @NonNull final DataType oldValue,
+                                    @Nullable final DataType newValue) {
+            if (newValue == null) {
+                cacheTimes.remove(key);
+            }
+        }
+
+    }
+
+    /**
+     * A callback, which forwards memory-related events to a data binder. It only references the
+     * data binder weakly in order to not prevent it from being garbage collected. The callback is
+     * unregistered, when the data binder is disposed. If the data binder has been garbage collected
+     * without being disposed, the callback unregisters itself on the next event.
+     */
+    private static class TrimMemoryCallback implements ComponentCallbacks2 {
+
+        /**
+         * The context, the callback is registered at.
+         */
+        private final Context context;
+
+        /**
+         * A weak reference to the data binder, the callback belongs to.
+         */
+        private final WeakReference<AbstractDataBinder<?, ?, ?, ?>> dataBinder;
+
+        /**
+         * Creates a new callback.
+         *
+         * @param context
+         *         The context, the callback is registered at, as an instance of the class {@link
+         *         Context}. The context may not be null
+         * @param dataBinder
+         *         The data binder, the callback belongs to, as an instance of the class {@link
+         *         AbstractDataBinder}. The data binder may not be null
+         */
+        TrimMemoryCallback(@NonNull final Context context,
+                           @NonNull final AbstractDataBinder<?, ?, ?, ?> dataBinder) {
+            this.context = context;
+            this.dataBinder = new WeakReference<AbstractDataBinder<?, ?, ?, ?>>(dataBinder);
+        }
+
+        /**
+         * Unregisters the callback from the context, it is registered at.
+         */
+        void unregister() {
+            context.unregisterComponentCallbacks(this);
         }
 
+        @Override
+        public void onTrimMemory(final int level) {
+            AbstractDataBinder<?, ?, ?, ?> binder = dataBinder.get();
+
+            if (binder != null) {
+                binder.trimMemory(level);
+            } else {
+                unregister();
+            }
+        }
+
+        @Override
+        public void onLowMemory() {
+            onTrimMemory(TRIM_MEMORY_COMPLETE);
+        }
+
+        @Override
+        public void onConfigurationChanged(@NonNull final Configuration newConfig) {
+
+        }
+
+    }
+
+    /**
+     * The priority of tasks, which prefetch data. It is lower than the priority of tasks, which
+     * load data for views.
+     */
+    private static final int PREFETCH_PRIORITY = PriorityThreadPoolExecutor.DEFAULT_PRIORITY - 1;
+
+    /**
+     * The time in milliseconds, which may be spent per frame in order to display loaded data, by
+     * default.
+     */
+    public static final long DEFAULT_FRAME_BUDGET = 8;
+
+    /**
+     * The <code>what</code> value of messages, which are sent in order to deliver the results of
+     * completed tasks to the UI thread.
+     */
+    private static final int DELIVER_RESULTS_MESSAGE = 0;
+
+    /**
+     * The maximum number of times, which are kept in order to determine the age of cached data.
+     * Cached data, whose time is not known, is considered as stale.
+     */
+    private static final int MAX_CACHE_TIME_COUNT = 1024;
+
+    /**
+     * The maximum number of unused tasks, which are kept in order to be reused.
+     */
+    private static final int TASK_POOL_SIZE = 32;
+
+    /**
+     * The number of items, which are stored by a cache by default, if their size in bytes is not
+     * known.
+     */
+    public static final int CACHE_SIZE = 10;
+
+    /**
+     * The context, which is used by the data binder.
+     */
+    private final Context context;
+
+    /**
+     * The callback, which trims the cache, when the system requests to release memory.
+     */
+    private final TrimMemoryCallback trimMemoryCallback;
+
+    /**
+     * The size of data, whose size in bytes is not known, if the size of the cache is measured in
+     * bytes by default, or 0, if the size of the cache is measured in items by default.
+     */
+    private final int defaultItemSize;
+
+    /**
+     * The logger, which is used by the data binder.
+     */
+    private final Logger logger;
+
+    /**
+     * A set, which contains the listeners, which are notified about the progress of the data
+     * binder.
+     */
+    private final ListenerList<Listener<DataType, KeyType, ViewType, ParamType>> listeners;
+
+    /**
+     * A LRU cache, which is used to cache already loaded data.
+     */
+    private final LruCache<KeyType, DataType> cache;
+
+    /**
+     * A LRU cache, which contains the times, when data has been added to the cache, in
+     * milliseconds.
+     */
+    private final LruCache<KeyType, Long> cacheTimes;
+
+    /**
+     * The time in milliseconds, cached data is considered as fresh, or 0, if cached data is never
+     * revalidated.
+     */
+    private volatile long timeToLive;
+
+    /**
+     * The time in milliseconds, cached data may be displayed after its time to live has expired,
+     * while it is revalidated.
+     */
+    private volatile long maxStaleness;
+
+    /**
+     * The disk cache, which is used as a second tier, if data is not contained by the in-memory
+     * cache, or null, if no disk cache is used.
+     */
+    private volatile DiskCache<KeyType, DataType> diskCache;
+
+    /**
+     * A map, which is used to manage the views, which have already been used to display data.
+     */
+    private final Map<ViewType, KeyType> views;
+
+    /**
+     * A map, which is used to manage the tasks, which are currently executed in order to load the
+     * data of views. All accesses to this map, the map <code>keyTasks</code> and the requests of
+     * the tasks must be synchronized on this map.
+     */
+    private final Map<ViewType, Task<DataType, KeyType, ViewType, ParamType>> tasks;
+
+    /**
+     * A map, which is used to manage the tasks, which are currently executed, by the keys of the
+     * data, they load. It allows multiple requests of the same data to share a single task.
+     */
+    private final Map<KeyType, Task<DataType, KeyType, ViewType, ParamType>> keyTasks;
+
+    /**
+     * The number of requests, which have been added to an already existing task instead of loading
+     * the data again.
+     */
+    private final AtomicLong coalescedLoadCount;
+
+    /**
+     * A pool, which contains unused tasks, which can be reused.
+     */
+    private final Pools.Pool<Task<DataType, KeyType, ViewType, ParamType>> taskPool;
+
+    /**
+     * A thread local variable, which contains the task, which is currently executed by the
+     * respective thread.
+     */
+    private final ThreadLocal<Task<DataType, KeyType, ViewType, ParamType>> currentTask;
+
+    /**
+     * The thread pool, which is used to manage the threads, which are used to asynchronously load
+     * data.
+     */
+    private final ExecutorService threadPool;
+
+    /**
+     * A queue, which contains the tasks, which have been deferred, because a listener did not allow
+     * to load their data yet. Deferred tasks do not occupy a thread until they are resumed.
+     */
+    private final Queue<Task<DataType, KeyType, ViewType, ParamType>> deferredTasks;
+
+    /**
+     * The number of tasks, which are currently contained by the queue of deferred tasks.
+     */
+    private final AtomicInteger deferredTaskCount;
+
+    /**
+     * The maximum number of tasks, which have been contained by the queue of deferred tasks at the
+     * same time.
+     */
+    private final AtomicInteger maxDeferredTaskCount;
+
+    /**
+     * The number of deferred tasks, which have been resumed.
+     */
+    private final AtomicLong resumedTaskCount;
+
+    /**
+     * The total time in milliseconds, resumed tasks have been waiting in the queue of deferred
+     * tasks.
+     */
+    private final AtomicLong totalDeferralTime;
+
+    /**
+     * The maximum time in milliseconds, a resumed task has been waiting in the queue of deferred
+     * tasks.
+     */
+    private final AtomicLong maxDeferralTime;
+
+    /**
+     * A counter, which is incremented each time deferred tasks are resumed. It is used to detect,
+     * whether deferred tasks have been resumed while a task was about to be deferred.
+     */
+    private final AtomicLong resumeSignal;
+
+    /**
+     * The number of loads, whose data has been retrieved from the cache.
+     */
+    private final AtomicLong cacheHitCount;
+
+    /**
+     * The number of loads, whose data has not been contained by the cache.
+     */
+    private final AtomicLong cacheMissCount;
+
+    /**
+     * The number of tasks, which have been canceled.
+     */
+    private final AtomicLong canceledTaskCount;
+
+    /**
+     * The number of results, which have been discarded, because their views have been recycled.
+     */
+    private final AtomicLong discardedResultCount;
+
+    /**
+     * A histogram, which records the times, tasks have been waiting in the queue of the thread
+     * pool.
+     */
+    private final LatencyHistogram queueWaitHistogram;
+
+    /**
+     * A histogram, which records the times, which have been needed to load data in a background
+     * thread.
+     */
+    private final LatencyHistogram loadTimeHistogram;
+
+    /**
+     * A histogram, which records the times between loaded data being ready and being displayed.
+     */
+    private final LatencyHistogram deliveryLatencyHistogram;
+
+    /**
+     * The runnable, which is posted periodically in order to log the metrics of the data binder.
+     */
+    private final Runnable metricsLogRunnable;
+
+    /**
+     * The interval in milliseconds, the metrics of the data binder are logged at, or 0, if they are
+     * not logged periodically.
+     */
+    private volatile long metricsLogInterval;
+
+    /**
+     * The number of prefetched keys, whose data has already been cached.
+     */
+    private final AtomicLong prefetchHitCount;
+
+    /**
+     * The number of prefetched keys, whose data has not been cached.
+     */
+    private final AtomicLong prefetchMissCount;
+
+    /**
+     * A list, which contains the tasks, which have been created within the current batch window
+     * and are waiting to be loaded at once. All accesses to this list must be synchronized on the
+     * list.
+     */
+    private final List<Task<DataType, KeyType, ViewType, ParamType>> batchedTasks;
+
+    /**
+     * The runnable, which is posted in order to load the tasks, which have been created within the
+     * current batch window.
+     */
+    private final Runnable batchRunnable;
+
+    /**
+     * The time in milliseconds, during which loads are collected in order to load them at once, or
+     * 0, if data is loaded individually.
+     */
+    private volatile long batchWindow;
+
+    /**
+     * A queue, which contains the tasks, which have been completed, but whose results have not
+     * been delivered to the UI thread yet.
+     */
+    private final Queue<Task<DataType, KeyType, ViewType, ParamType>> completedTasks;
+
+    /**
+     * True, if delivering the results of completed tasks to the UI thread has already been
+     * scheduled, false otherwise.
+     */
+    private final AtomicBoolean deliveryScheduled;
+
+    /**
+     * The frame callback, which is used to deliver the results of completed tasks once per frame,
+     * or null, if it has not been created yet.
+     */
+    private Choreographer.FrameCallback frameCallback;
+
+    /**
+     * The time in milliseconds, which may be spent per frame in order to display loaded data.
+     */
+    private volatile long frameBudget;
+
+    /**
+     * True, if loading the data has been canceled, false otherwise
+     */
+    private volatile boolean canceled;
+
+    /**
+     * True, if data should be cached, false otherwise.
+     */
+    private volatile boolean useCache;
+
+    /**
+     * Notifies all listeners, that the data binder starts to load data asynchronously.
+     *
+     * @param key
+     *         The key of the data, which should be loaded, as an instance of the generic type
+     *         KeyType. The key may not be null
+     * @param params
+     *         An array, which contains optional parameters, as an array of the type ParamType or an
+     *         empty array, if no parameters should be used
+     * @return True, if loading the data should be proceeded, false otherwise
+     */
+    @SafeVarargs
+    private final boolean notifyOnLoad(@NonNull final KeyType key,
+                                       @NonNull final ParamType... params) {
+        boolean result = true;
+
+        for (Listener<DataType, KeyType, ViewType, ParamType> listener : listeners) {
+            result &= listener.onLoadData(this, key, params);
+        }
+
+        return result;
+    }
+
+    /**
+     * Notifies all listeners, that the data binder is showing data, which has been loaded either
+     * asynchronously or from cache.
+     *
+     * @param key
+     *         The key of the data, which has be loaded, as an instance of the generic type KeyType.
+     *         The key may not be null
+     * @param data
+     *         The data, which has been loaded, as an instance of the generic type DataType or null,
+     *         if no data has been loaded
+     * @param view
+     *         The view, which is used to display the data, as an instance of the generic type
+     *         ViewType. The view may not be null
+     * @param params
+     *         An array, which contains optional parameters, as an array of the type ParamType or an
+     *         empty array, if no parameters should be used
+     */
+    @SafeVarargs
+    private final void notifyOnFinished(@NonNull final KeyType key, @Nullable final DataType data,
+                                        @NonNull final ViewType view,
+                                        @NonNull final ParamType... params) {
+        for (Listener<DataType, KeyType, ViewType, ParamType> listener : listeners) {
+            listener.onFinished(this, key, data, view, params);
+        }
+    }
+
+    /**
+     * Notifies all listeners, that the data binder has been canceled.
+     */
+    private void notifyOnCanceled() {
+        for (Listener<DataType, KeyType, ViewType, ParamType> listener : listeners) {
+            listener.onCanceled(this);
+        }
+    }
+
+    /**
+     * Returns the data, which corresponds to a specific key, from the cache.
+     *
+     * @param key
+     *         The key of the data, which should be retrieved, as an instance of the generic type
+     *         KeyType. The key may not be null
+     * @return The data, which has been retrieved, as an instance of the generic type DataType or
+     * null, if no data with the given key is contained by the cache
+     */
+    @Nullable
+    private DataType getCachedData(@NonNull final KeyType key) {
+        DataType data = cache.get(key);
+
+        if (data == null) {
+            cacheTimes.remove(key);
+        }
+
+        return data;
+    }
+
+    /**
+     * Adds the data, which corresponds to a specific key, to the cache, if caching is enabled.
+     *
+     * @param key
+     *         The key of the data, which should be added to the cache, as an instance of the
+     *         generic type KeyType. The key may not be null
+     * @param data
+     *         The data, which should be added to the cache, as an instance of the generic type
+     *         DataType. The data may not be null
+     */
+    private void cacheData(@NonNull final KeyType key, @NonNull final DataType data) {
+        if (useCache) {
+            if (timeToLive > 0) {
+                cacheTimes.put(key, SystemClock.elapsedRealtime());
+            } else {
+                cacheTimes.remove(key);
+            }
+
+            cache.put(key, data);
+
+            if (!useCache) {
+                cache.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the age of the cached data, which corresponds to a specific key.
+     *
+     * @param key
+     *         The key of the cached data, whose age should be returned, as an instance of the
+     *         generic type KeyType. The key may not be null
+     * @return The age of the cached data in milliseconds as a {@link Long} value or
+     * <code>Long.MAX_VALUE</code>, if the age is not known
+     */
+    private long getCacheAge(@NonNull final KeyType key) {
+        Long time = cacheTimes.get(key);
+        return time != null ? SystemClock.elapsedRealtime() - time : Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns a task, which loads the data, which corresponds to a specific key. If possible, a
+     * task is taken from the pool of unused tasks.
+     *
+     * @param key
+     *         The key of the data, which should be loaded, as an instance of the generic type
+     *         KeyType. The key may not be null
+     * @param params
+     *         An array, which contains optional parameters, as an array of the type ParamType or an
+     *         empty array, if no parameters should be used
+     * @return The task as an instance of the class {@link Task}. The task may not be null
+     */
+    @NonNull
+    private Task<DataType, KeyType, ViewType, ParamType> obtainTask(
+            @NonNull final KeyType key, @NonNull final ParamType[] params) {
+        Task<DataType, KeyType, ViewType, ParamType> task = taskPool.acquire();
+
+        if (task == null) {
+            task = new Task<>();
+        }
+
+        task.init(key, params);
+        return task;
+    }
+
+    /**
+     * Returns a specific task, which is not used anymore, to the pool of unused tasks.
+     *
+     * @param task
+     *         The task, which should be returned to the pool, as an instance of the class {@link
+     *         Task}. The task may not be null
+     */
+    private void releaseTask(@NonNull final Task<DataType, KeyType, ViewType, ParamType> task) {
+        task.recycle();
+        taskPool.release(task);
+    }
+
+    /**
+     * Asynchronously executes a specific task in order to load data and to display it afterwards.
+     * If a listener does not allow to load the data yet, the task is deferred until the method
+     * {@link #resumeDeferredTasks()} is called.
+     *
+     * @param task
+     *         The task, which should be executed, as an instance of the class {@link Task}. The
+     *         task may not be null
+     */
+    private void loadDataAsynchronously(
+            @NonNull final Task<DataType, KeyType, ViewType, ParamType> task) {
+        if (task.runnable == null || task.runnableGeneration != task.generation) {
+            task.runnable = new LoadRunnable(task, task.generation);
+            task.runnableGeneration = task.generation;
+        }
+
+        if (task.future != null) {
+            task.future.cancel(false);
+        }
+
+        task.submitTime = System.nanoTime();
+        task.future = threadPool.submit(task.runnable);
+    }
+
+    /**
+     * Asynchronously loads the data of multiple tasks at once and displays it afterwards.
+     *
+     * @param batch
+     *         A list, which contains the tasks, which should be executed, as an instance of the
+     *         type {@link List}. The list may not be null
+     */
+    private void loadBatchAsynchronously(
+            @NonNull final List<Task<DataType, KeyType, ViewType, ParamType>> batch) {
+        long submitTime = System.nanoTime();
+
+        for (Task<DataType, KeyType, ViewType, ParamType> task : batch) {
+            task.submitTime = submitTime;
+        }
+
+        threadPool.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                if (!isCanceled()) {
+                    loadBatch(batch);
+                }
+            }
+
+        });
+    }
+
+    /**
+     * Loads the data of multiple tasks at once by using the method {@link
+     * #doInBackgroundBatch(Collection)}. Tasks, whose data is contained by the disk cache, are not
+     * included in the batch. Tasks, which are not allowed to be loaded by a listener, are deferred.
+     * If the method {@link #doInBackgroundBatch(Collection)} does not support batch loading, the
+     * data of the remaining tasks is loaded individually.
+     *
+     * @param batch
+     *         A list, which contains the tasks, which should be executed, as an instance of the
+     *         type {@link List}. The list may not be null
+     */
+    private void loadBatch(
+            @NonNull final List<Task<DataType, KeyType, ViewType, ParamType>> batch) {
+        Map<KeyType, Task<DataType, KeyType, ViewType, ParamType>> pendingTasks =
+                new LinkedHashMap<>();
+
+        for (Task<DataType, KeyType, ViewType, ParamType> task : batch) {
+            if (!task.canceled && task.start(task.generation)) {
+                queueWaitHistogram.record(System.nanoTime() - task.submitTime);
+                long signal = resumeSignal.get();
+
+                if (notifyOnLoad(task.key, task.params)) {
+                    pendingTasks.put(task.key, task);
+                } else {
+                    deferTask(task, signal);
+                }
+            }
+        }
+
+        Map<KeyType, DataType> result = null;
+        boolean failed = false;
+
+        try {
+            for (Iterator<Task<DataType, KeyType, ViewType, ParamType>> iterator =
+                 pendingTasks.values().iterator(); iterator.hasNext(); ) {
+                Task<DataType, KeyType, ViewType, ParamType> task = iterator.next();
+                DataType data = loadFromDiskCache(task.key);
+
+                if (data != null) {
+                    task.result = data;
+                    deliverResult(task);
+                    iterator.remove();
+                }
+            }
+
+            if (!pendingTasks.isEmpty()) {
+                long startTime = System.nanoTime();
+                result = doInBackgroundBatch(Collections.unmodifiableSet(pendingTasks.keySet()));
+
+                if (result != null) {
+                    loadTimeHistogram.record(System.nanoTime() - startTime);
+                }
+            }
+        } catch (Exception e) {
+            logger.logError(getClass(),
+                    "An error occurred while loading data with keys " + pendingTasks.keySet(), e);
+            failed = true;
+        }
+
+        for (Task<DataType, KeyType, ViewType, ParamType> task : pendingTasks.values()) {
+            if (result == null && !failed) {
+                task.result = loadData(task);
+            } else if (task.canceled) {
+                if (logger.isLoggable(LogLevel.VERBOSE)) {
+                    logger.logVerbose(getClass(), "Discarded data with key " + task.key +
+                            ". Loading data has been canceled");
+                }
+            } else if (result != null) {
+                DataType data = result.get(task.key);
+
+                if (data != null) {
+                    storeData(task.key, data);
+                }
+
+                task.result = data;
+
+                if (logger.isLoggable(LogLevel.INFO)) {
+                    logger.logInfo(getClass(), "Loaded data with key " + task.key + " in batch");
+                }
+            }
+
+            deliverResult(task);
+        }
+    }
+
+    /**
+     * Adds a specific task to the current batch. If the batch has been empty, the batch is loaded
+     * once the batch window has elapsed.
+     *
+     * @param task
+     *         The task, which should be added, as an instance of the class {@link Task}. The task
+     *         may not be null
+     */
+    private void addToBatch(@NonNull final Task<DataType, KeyType, ViewType, ParamType> task) {
+        synchronized (batchedTasks) {
+            batchedTasks.add(task);
+
+            if (batchedTasks.size() == 1) {
+                postDelayed(batchRunnable, batchWindow);
+            }
+        }
+    }
+
+    /**
+     * Loads the tasks, which have been added to the current batch, at once.
+     */
+    private void flushBatch() {
+        List<Task<DataType, KeyType, ViewType, ParamType>> batch;
+
+        synchronized (batchedTasks) {
+            if (batchedTasks.isEmpty()) {
+                return;
+            }
+
+            batch = new ArrayList<>(batchedTasks);
+            batchedTasks.clear();
+        }
+
+        if (logger.isLoggable(LogLevel.VERBOSE)) {
+            logger.logVerbose(getClass(), "Loading " + batch.size() + " tasks in batch");
+        }
+
+        loadBatchAsynchronously(batch);
+    }
+
+    /**
+     * Adds a specific task, which has been completed, to the queue of tasks, whose results should
+     * be delivered to the UI thread, and schedules the delivery, if necessary. If the task has
+     * been canceled, or if all views, the task belongs to, have been recycled, its result is
+     * discarded and the task is returned to the pool of unused tasks.
+     *
+     * @param task
+     *         The task, whose result should be delivered, as an instance of the class {@link Task}.
+     *         The task may not be null
+     */
+    private void deliverResult(@NonNull final Task<DataType, KeyType, ViewType, ParamType> task) {
+        if (task.canceled) {
+            discardTask(task);
+        } else {
+            completeFutures(task);
+            boolean stale;
+
+            synchronized (tasks) {
+                stale = isStale(task);
+
+                if (stale) {
+                    removeTask(task);
+                }
+            }
+
+            if (stale) {
+                discardedResultCount.incrementAndGet();
+
+                if (logger.isLoggable(LogLevel.VERBOSE)) {
+                    logger.logVerbose(getClass(), "Data with key " + task.key +
+                            " not delivered. All views have been recycled");
+                }
+
+                releaseTask(task);
+            } else {
+                task.completionTime = System.nanoTime();
+                completedTasks.add(task);
+
+                if (deliveryScheduled.compareAndSet(false, true)) {
+                    sendEmptyMessage(DELIVER_RESULTS_MESSAGE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Completes the futures of all requests of a specific task, which has been completed.
+     *
+     * @param task
+     *         The task, whose futures should be completed, as an instance of the class {@link
+     *         Task}. The task may not be null
+     */
+    private void completeFutures(@NonNull final Task<DataType, KeyType, ViewType, ParamType> task) {
+        synchronized (tasks) {
+            task.completed = true;
+
+            for (Request<DataType, ViewType, ParamType> request : task.requests) {
+                if (request.future != null) {
+                    request.future.complete(task.result);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns, whether the result of a specific task is stale, because all views, the task belongs
+     * to, have been recycled in the meantime.
+     *
+     * @param task
+     *         The task, which should be checked, as an instance of the class {@link Task}. The
+     *         task may not be null
+     * @return True, if the result of the given task is stale, false otherwise
+     */
+    private boolean isStale(@NonNull final Task<DataType, KeyType, ViewType, ParamType> task) {
+        synchronized (tasks) {
+            if (task.requests.isEmpty()) {
+                return false;
+            }
+
+            for (Request<DataType, ViewType, ParamType> request : task.requests) {
+                if (isBound(request.view, task.key)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Removes a specific task, which has been completed, from the maps, which are used to manage
+     * the tasks, which are currently executed.
+     *
+     * @param task
+     *         The task, which should be removed, as an instance of the class {@link Task}. The
+     *         task may not be null
+     */
+    private void removeTask(@NonNull final Task<DataType, KeyType, ViewType, ParamType> task) {
+        synchronized (tasks) {
+            if (keyTasks.get(task.key) == task) {
+                keyTasks.remove(task.key);
+            }
+
+            for (Request<DataType, ViewType, ParamType> request : task.requests) {
+                if (tasks.get(request.view) == task) {
+                    tasks.remove(request.view);
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards a specific task, whose execution has been started, but whose result should not be
+     * delivered, and returns it to the pool of unused tasks.
+     *
+     * @param task
+     *         The task, which should be discarded, as an instance of the class {@link Task}. The
+     *         task may not be null
+     */
+    private void discardTask(@NonNull final Task<DataType, KeyType, ViewType, ParamType> task) {
+        removeTask(task);
+        releaseTask(task);
+    }
+
+    /**
+     * Schedules delivering the results of completed tasks. On devices with API level 16 or
+     * greater, the results are delivered when the next frame is rendered. Otherwise, they are
+     * delivered immediately.
+     */
+    private void scheduleDelivery() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            postFrameCallback();
+        } else {
+            deliverCompletedTasks();
+        }
+    }
+
+    /**
+     * Posts a frame callback, which delivers the results of completed tasks, when the next frame
+     * is rendered.
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void postFrameCallback() {
+        if (frameCallback == null) {
+            frameCallback = new DeliveryFrameCallback();
+        }
+
+        Choreographer.getInstance().postFrameCallback(frameCallback);
+    }
+
+    /**
+     * Delivers the results of completed tasks to the views, they belong to. If the frame budget is
+     * exceeded, the remaining results are delivered when the next frame is rendered. On devices
+     * with an API level less than 16, they are delivered, when the next message is processed by
+     * the UI thread's message queue.
+     */
+    private void deliverCompletedTasks() {
+        deliveryScheduled.set(false);
+        long startTime = SystemClock.uptimeMillis();
+        Task<DataType, KeyType, ViewType, ParamType> task;
+
+        while ((task = completedTasks.poll()) != null) {
+            deliverTask(task);
+
+            if (SystemClock.uptimeMillis() - startTime >= frameBudget &&
+                    !completedTasks.isEmpty()) {
+                if (deliveryScheduled.compareAndSet(false, true)) {
+                    if (logger.isLoggable(LogLevel.VERBOSE)) {
+                        logger.logVerbose(getClass(), "Frame budget exceeded. Deferring " +
+                                completedTasks.size() + " results to the next frame");
+                    }
+
+                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                        postFrameCallback();
+                    } else {
+                        sendEmptyMessage(DELIVER_RESULTS_MESSAGE);
+                    }
+                }
+
+                break;
+            }
+        }
+    }
+
+    /**
+     * Displays the result of a specific task, which has been completed, in the views, which are
+     * still bound to the task's key.
+     *
+     * @param task
+     *         The task, whose result should be displayed, as an instance of the class {@link
+     *         Task}. The task may not be null
+     */
+    private void deliverTask(@NonNull final Task<DataType, KeyType, ViewType, ParamType> task) {
+        deliveryLatencyHistogram.record(System.nanoTime() - task.completionTime);
+        removeTask(task);
+
+        if (!isCanceled() && !task.canceled) {
+            for (Request<DataType, ViewType, ParamType> request : task.requests) {
+                if (request.staleData != null && (task.result == null ||
+                        isEqual(request.staleData, task.result))) {
+                    if (logger.isLoggable(LogLevel.VERBOSE)) {
+                        logger.logVerbose(getClass(), "Data with key " + task.key +
+                                " not displayed again. Revalidated data has not changed");
+                    }
+                } else if (isBound(request.view, task.key)) {
+                    long duration = System.currentTimeMillis() - request.startTime;
+                    onPostExecute(request.view, task.result, duration, request.params);
+                    notifyOnFinished(task.baseKey, task.result, request.view, request.params);
+                } else {
+                    discardedResultCount.incrementAndGet();
+
+                    if (logger.isLoggable(LogLevel.VERBOSE)) {
+                        logger.logVerbose(getClass(), "Data with key " + task.key +
+                                " not displayed. View has been recycled");
+                    }
+                }
+            }
+        } else if (logger.isLoggable(LogLevel.VERBOSE)) {
+            logger.logVerbose(getClass(), "Data with key " + task.key +
+                    " not displayed. Loading data has been canceled");
+        }
+
+        releaseTask(task);
+    }
+
+    /**
+     * Returns, whether a specific view is still bound to a specific key, or whether it has been
+     * recycled in the meantime.
+     *
+     * @param view
+     *         The view, which should be checked, as an instance of the generic type ViewType. The
+     *         view may not be null
+     * @param key
+     *         The key, the view should be bound to, as an instance of the generic type KeyType. The
+     *         key may not be null
+     * @return True, if the given view is still bound to the given key, false otherwise
+     */
+    private boolean isBound(@NonNull final ViewType view, @NonNull final KeyType key) {
+        KeyType boundKey = views.get(view);
+        return boundKey != null && boundKey.equals(key);
+    }
+
+    /**
+     * Removes a specific task, which has been canceled, from the queue of deferred tasks and
+     * returns it to the pool of unused tasks, if it is currently deferred.
+     *
+     * @param task
+     *         The task, which should be removed, as an instance of the class {@link Task}. The
+     *         task may not be null
+     */
+    private void discardDeferredTask(
+            @NonNull final Task<DataType, KeyType, ViewType, ParamType> task) {
+        if (task.deferred && deferredTasks.remove(task)) {
+            deferredTaskCount.decrementAndGet();
+            task.deferred = false;
+            discardTask(task);
+        }
+    }
+
+    /**
+     * Adds a specific task to the queue of deferred tasks. If deferred tasks have been resumed in
+     * the meantime, the task is resumed immediately. If the task has been canceled in the
+     * meantime, it is discarded instead.
+     *
+     * @param task
+     *         The task, which should be deferred, as an instance of the class {@link Task}. The
+     *         task may not be null
+     * @param signal
+     *         The value of the resume signal, prior to notifying the listeners, as a {@link Long}
+     *         value
+     */
+    private void deferTask(@NonNull final Task<DataType, KeyType, ViewType, ParamType> task,
+                           final long signal) {
+        task.deferralTime = System.currentTimeMillis();
+        task.resetStarted();
+        task.deferred = true;
+        deferredTasks.add(task);
+        int count = deferredTaskCount.incrementAndGet();
+        int maxCount;
+
+        do {
+            maxCount = maxDeferredTaskCount.get();
+        } while (count > maxCount && !maxDeferredTaskCount.compareAndSet(maxCount, count));
+
+        if (task.canceled) {
+            discardDeferredTask(task);
+            return;
+        }
+
+        if (logger.isLoggable(LogLevel.VERBOSE)) {
+            logger.logVerbose(getClass(), "Deferred loading data with key " + task.key);
+        }
+
+        if (resumeSignal.get() != signal) {
+            resumeDeferredTasks();
+        }
+    }
+
+    /**
+     * Loads the data, which corresponds to a specific key, from the disk cache, if caching is
+     * enabled and a disk cache is used. If the data is contained by the disk cache, it is also
+     * added to the in-memory cache.
+     *
+     * @param key
+     *         The key of the data, which should be loaded, as an instance of the generic type
+     *         KeyType. The key may not be null
+     * @return The data, which has been loaded, as an instance of the generic type DataType or null,
+     * if the data is not contained by the disk cache
+     */
+    @Nullable
+    private DataType loadFromDiskCache(@NonNull final KeyType key) {
+        DiskCache<KeyType, DataType> diskCache = useCache ? this.diskCache : null;
+
+        if (diskCache != null) {
+            DataType data = diskCache.get(key);
+
+            if (data != null) {
+                cacheData(key, data);
+
+                if (logger.isLoggable(LogLevel.INFO)) {
+                    logger.logInfo(getClass(), "Loaded data with key " + key + " from disk cache");
+                }
+
+                return data;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Stores data, which has been loaded, in the in-memory cache and in the disk cache, if caching
+     * is enabled.
+     *
+     * @param key
+     *         The key of the data, which should be stored, as an instance of the generic type
+     *         KeyType. The key may not be null
+     * @param data
+     *         The data, which should be stored, as an instance of the generic type DataType. The
+     *         data may not be null
+     */
+    private void storeData(@NonNull final KeyType key, @NonNull final DataType data) {
+        cacheData(key, data);
+        DiskCache<KeyType, DataType> diskCache = this.diskCache;
+
+        if (diskCache != null && useCache) {
+            diskCache.put(key, data);
+        }
+    }
+
+    /**
+     * Loads the data, which corresponds to a specific key, without applying any transformations.
+     * If the data is contained by the disk cache, it is retrieved from there. Otherwise, it is
+     * loaded by using the method {@link #doInBackground(Object, Object[])} and stored in the
+     * cache.
+     *
+     * @param task
+     *         The task, which is executed, as an instance of the class {@link Task}. The task may
+     *         not be null
+     * @param key
+     *         The key of the data, which should be loaded, as an instance of the generic type
+     *         KeyType. The key may not be null
+     * @return The data, which has been loaded, as an instance of the generic type DataType or null,
+     * if no data has been loaded
+     */
+    @Nullable
+    private DataType loadRawData(@NonNull final Task<DataType, KeyType, ViewType, ParamType> task,
+                                 @NonNull final KeyType key) {
+        DataType data = task.revalidate ? null : loadFromDiskCache(key);
+
+        if (data == null) {
+            long startTime = System.nanoTime();
+            data = doInBackground(key, task.params);
+            loadTimeHistogram.record(System.nanoTime() - startTime);
+
+            if (data != null && !task.canceled) {
+                storeData(key, data);
+            }
+        }
+
+        return data;
+    }
+
+    /**
+     * Loads the data of a specific task and applies the task's transformations to it. The loading
+     * process starts at the most advanced transformation, whose result is already cached. If no
+     * such result is cached, the untransformed data is taken from the cache, if possible. The
+     * results of the individual transformations are cached, if a key can be derived for them. If
+     * the task is canceled, the remaining transformations are skipped.
+     *
+     * @param task
+     *         The task, which is executed, as an instance of the class {@link Task}. The task may
+     *         not be null
+     * @return The transformed data as an instance of the generic type DataType or null, if no data
+     * has been loaded
+     */
+    @Nullable
+    private DataType loadTransformedData(
+            @NonNull final Task<DataType, KeyType, ViewType, ParamType> task) {
+        DataType data = null;
+        int start = 0;
+
+        if (useCache && !task.revalidate) {
+            for (int i = task.stageKeys.size() - 1; i >= 0 && data == null; i--) {
+                KeyType stageKey = task.stageKeys.get(i);
+
+                if (stageKey != null) {
+                    data = getCachedData(stageKey);
+                    start = i + 1;
+                }
+            }
+        }
+
+        if (data == null) {
+            start = 0;
+
+            if (useCache && !task.revalidate) {
+                data = getCachedData(task.baseKey);
+            }
+
+            if (data == null) {
+                data = loadRawData(task, task.baseKey);
+            }
+        }
+
+        for (int i = start; i < task.transformations.size() && data != null; i++) {
+            if (task.canceled) {
+                return null;
+            }
+
+            data = task.transformations.get(i).transform(data);
+            KeyType stageKey = task.stageKeys.get(i);
+
+            if (data != null && stageKey != null) {
+                cacheData(stageKey, data);
+            }
+        }
+
+        return data;
+    }
+
+    /**
+     * Executes a specific task in order to load data.
+     *
+     * @param task
+     *         The task, which should be executed, as an instance of the class {@link Task}. The
+     *         task may not be null
+     * @return The data, which has been loaded, as an instance of the generic type DataType or null,
+     * if no data has been loaded
+     */
+    @Nullable
+    private DataType loadData(@NonNull final Task<DataType, KeyType, ViewType, ParamType> task) {
+        currentTask.set(task);
+
+        try {
+            DataType data = task.transformations.isEmpty() ? loadRawData(task, task.key) :
+                    loadTransformedData(task);
+
+            if (task.canceled) {
+                if (logger.isLoggable(LogLevel.VERBOSE)) {
+                    logger.logVerbose(getClass(), "Discarded data with key " + task.key +
+                            ". Loading data has been canceled");
+                }
+
+                return null;
+            }
+
+            if (logger.isLoggable(LogLevel.INFO)) {
+                logger.logInfo(getClass(), "Loaded data with key " + task.key);
+            }
+
+            return data;
+        } catch (Exception e) {
+            logger.logError(getClass(), "An error occurred while loading data with key " + task.key,
+                    e);
+            return null;
+        } finally {
+            currentTask.remove();
+        }
+    }
+
+    /**
+     * Removes the request of a specific view from the task, which is currently executed in order to
+     * load the view's data, unless it loads the data, which corresponds to a specific key. If no
+     * other requests wait for the task, it is canceled.
+     *
+     * @param view
+     *         The view, whose task should be canceled, as an instance of the generic type
+     *         ViewType. The view may not be null
+     * @param key
+     *         The key of the data, which should be loaded for the view, as an instance of the
+     *         generic type KeyType. The key may not be null
+     * @param transformations
+     *         A list, which contains the transformations, which should be applied to the data, as
+     *         an instance of the type {@link List}. The list may not be null
+     * @return True, if the data, which corresponds to the given key, is already being loaded for
+     * the given view, false otherwise
+     */
+    private boolean cancelTask(@NonNull final ViewType view, @NonNull final KeyType key,
+                               @NonNull final List<Transformation<DataType>> transformations) {
+        synchronized (tasks) {
+            Task<DataType, KeyType, ViewType, ParamType> task = tasks.get(view);
+
+            if (task != null) {
+                if (task.key.equals(key) && !task.canceled &&
+                        areEqual(task.transformations, transformations)) {
+                    return true;
+                }
+
+                removeRequest(task, view);
+            }
+
+            return false;
+        }
     }
 
     /**
-     * The number of items, which are stored by a cached, by default.
+     * Removes the request of a specific view from a specific task and cancels the future of the
+     * request. If no other requests wait for the task, it is canceled and, if it is currently
+     * deferred, returned to the pool of unused tasks. This method must be called while holding
+     * the lock of the map <code>tasks</code>.
+     *
+     * @param task
+     *         The task, the request should be removed from, as an instance of the class {@link
+     *         Task}. The task may not be null
+     * @param view
+     *         The view, whose request should be removed, as an instance of the generic type
+     *         ViewType. The view may not be null
      */
-    public static final int CACHE_SIZE = 10;
+    private void removeRequest(@NonNull final Task<DataType, KeyType, ViewType, ParamType> task,
+                               @NonNull final ViewType view) {
+        Request<DataType, ViewType, ParamType> request = task.removeRequest(view);
+        tasks.remove(view);
 
-    /**
-     * The context, which is used by the data binder.
-     */
-    private final Context context;
+        if (request != null && request.future != null) {
+            request.future.abort();
+        }
 
-    /**
-     * The logger, which is used by the data binder.
-     */
-    private final Logger logger;
+        if (task.requests.isEmpty()) {
+            task.cancel();
+            canceledTaskCount.incrementAndGet();
 
-    /**
-     * A set, which contains the listeners, which are notified about the progress of the data
-     * binder.
-     */
-    private final ListenerList<Listener<DataType, KeyType, ViewType, ParamType>> listeners;
+            if (keyTasks.get(task.key) == task) {
+                keyTasks.remove(task.key);
+            }
 
-    /**
-     * A LRU cache, which is used to cache already loaded data.
-     */
-    private final LruCache<KeyType, DataType> cache;
+            if (logger.isLoggable(LogLevel.VERBOSE)) {
+                logger.logVerbose(getClass(), "Canceled loading data with key " + task.key +
+                        ". No views wait for the data anymore");
+            }
 
-    /**
-     * A map, which is used to manage the views, which have already been used to display data.
-     */
-    private final Map<ViewType, KeyType> views;
+            discardDeferredTask(task);
+        }
+    }
 
     /**
-     * The thread pool, which is used to manage the threads, which are used to asynchronously load
-     * data.
+     * Cancels the request, which is associated with a specific future.
+     *
+     * @param view
+     *         The view, the request belongs to, as an instance of the generic type ViewType. The
+     *         view may not be null
+     * @param future
+     *         The future, which is associated with the request, as an instance of the class {@link
+     *         LoadFuture}. The future may not be null
      */
-    private final ExecutorService threadPool;
+    private void cancelRequest(@NonNull final ViewType view,
+                               @NonNull final LoadFuture<DataType> future) {
+        synchronized (tasks) {
+            Task<DataType, KeyType, ViewType, ParamType> task = tasks.get(view);
 
-    /**
-     * The object, which is used to acquire locks, when cancelling to load data.
-     */
-    private final Object cancelLock;
+            if (task != null) {
+                Request<DataType, ViewType, ParamType> request = task.getRequest(view);
 
-    /**
-     * True, if loading the data has been canceled, false otherwise
-     */
-    private boolean canceled;
+                if (request != null && request.future == future) {
+                    removeRequest(task, view);
+                }
+            }
+        }
+    }
 
     /**
-     * True, if data should be cached, false otherwise.
+     * Associates a specific future with the request of a specific view, whose data is already
+     * being loaded. If the request is already associated with another future, the other future is
+     * canceled.
+     *
+     * @param view
+     *         The view, the request belongs to, as an instance of the generic type ViewType. The
+     *         view may not be null
+     * @param future
+     *         The future, which should be associated with the request, as an instance of the class
+     *         {@link LoadFuture}. The future may not be null
      */
-    private boolean useCache;
+    private void attachFuture(@NonNull final ViewType view,
+                              @NonNull final LoadFuture<DataType> future) {
+        synchronized (tasks) {
+            Task<DataType, KeyType, ViewType, ParamType> task = tasks.get(view);
+            Request<DataType, ViewType, ParamType> request =
+                    task != null ? task.getRequest(view) : null;
+
+            if (request != null) {
+                if (request.future != null) {
+                    request.future.abort();
+                }
+
+                request.future = future;
+
+                if (task.completed) {
+                    future.complete(task.result);
+                }
+            } else {
+                future.abort();
+            }
+        }
+    }
 
     /**
-     * Notifies all listeners, that the data binder starts to load data asynchronously.
+     * Adds a request to display the data, which corresponds to a specific key, in a specific view
+     * to the task, which is currently executed in order to load this data. If no such task exists,
+     * a new task is created.
      *
      * @param key
      *         The key of the data, which should be loaded, as an instance of the generic type
      *         KeyType. The key may not be null
+     * @param baseKey
+     *         The key of the data, before any transformations are applied, as an instance of the
+     *         generic type KeyType. The key may not be null
+     * @param view
+     *         The view, which should be used to display the data, as an instance of the generic
+     *         type ViewType. The view may not be null
      * @param params
      *         An array, which contains optional parameters, as an array of the type ParamType or an
      *         empty array, if no parameters should be used
-     * @return True, if loading the data should be proceeded, false otherwise
+     * @param transformations
+     *         A list, which contains the transformations, which should be applied to the data, as
+     *         an instance of the type {@link List}. The list may not be null
+     * @param stageKeys
+     *         A list, which contains the keys, the results of the individual transformations
+     *         should be cached under, as an instance of the type {@link List}. The list may not be
+     *         null
+     * @param shared
+     *         True, if the task may be shared with other requests of the same data, false
+     *         otherwise
+     * @param future
+     *         The future, which should be completed once the data has been loaded, as an instance
+     *         of the class {@link LoadFuture} or null, if no future should be completed
+     * @param staleData
+     *         The stale data, which is already displayed by the view, while the data is
+     *         revalidated, as an instance of the generic type DataType or null, if the data is not
+     *         revalidated
+     * @return The task, which should be executed, as an instance of the class {@link Task} or
+     * null, if the request has been added to an already existing task. If the request has been
+     * added to a task, which prefetches the data, the task is returned in order to execute it with
+     * a higher priority
      */
-    @SafeVarargs
-    private final boolean notifyOnLoad(@NonNull final KeyType key,
-                                       @NonNull final ParamType... params) {
-        boolean result = true;
+    @Nullable
+    private Task<DataType, KeyType, ViewType, ParamType> addRequest(
+            @NonNull final KeyType key, @NonNull final KeyType baseKey,
+            @NonNull final ViewType view, @NonNull final ParamType[] params,
+            @NonNull final List<Transformation<DataType>> transformations,
+            @NonNull final List<KeyType> stageKeys, final boolean shared,
+            @Nullable final LoadFuture<DataType> future, @Nullable final DataType staleData) {
+        synchronized (tasks) {
+            Request<DataType, ViewType, ParamType> request = new Request<>(view, params);
+            request.future = future;
+            request.staleData = staleData;
+            Task<DataType, KeyType, ViewType, ParamType> task = shared ? keyTasks.get(key) : null;
+
+            if (task != null && !task.canceled &&
+                    areEqual(task.transformations, transformations)) {
+                task.requests.add(request);
+                tasks.put(view, task);
+                coalescedLoadCount.incrementAndGet();
+
+                if (logger.isLoggable(LogLevel.VERBOSE)) {
+                    logger.logVerbose(getClass(), "Data with key " + key +
+                            " is already being loaded. Waiting for result");
+                }
 
-        for (Listener<DataType, KeyType, ViewType, ParamType> listener : listeners) {
-            result &= listener.onLoadData(this, key, params);
-        }
+                if (task.prefetch) {
+                    task.prefetch = false;
+                    return task;
+                }
 
-        return result;
+                return null;
+            }
+
+            task = obtainTask(key, params);
+            task.baseKey = baseKey;
+            task.transformations = transformations;
+            task.stageKeys = stageKeys;
+            task.revalidate = staleData != null;
+            task.requests.add(request);
+            tasks.put(view, task);
+
+            if (shared) {
+                keyTasks.put(key, task);
+            }
+
+            return task;
+        }
     }
 
     /**
-     * Notifies all listeners, that the data binder is showing data, which has been loaded either
-     * asynchronously or from cache.
+     * Cancels a specific task and the futures of its requests, unless it has already been
+     * canceled. This method must be called while holding the lock of the map <code>tasks</code>.
      *
-     * @param key
-     *         The key of the data, which has be loaded, as an instance of the generic type KeyType.
-     *         The key may not be null
-     * @param data
-     *         The data, which has been loaded, as an instance of the generic type DataType or null,
-     *         if no data has been loaded
-     * @param view
-     *         The view, which is used to display the data, as an instance of the generic type
-     *         ViewType. The view may not be null
-     * @param params
-     *         An array, which contains optional parameters, as an array of the type ParamType or an
-     *         empty array, if no parameters should be used
+     * @param task
+     *         The task, which should be canceled, as an instance of the class {@link Task}. The
+     *         task may not be null
      */
-    @SafeVarargs
-    private final void notifyOnFinished(@NonNull final KeyType key, @Nullable final DataType data,
-                                        @NonNull final ViewType view,
-                                        @NonNull final ParamType... params) {
-        for (Listener<DataType, KeyType, ViewType, ParamType> listener : listeners) {
-            listener.onFinished(this, key, data, view, params);
+    private void cancelTask(@NonNull final Task<DataType, KeyType, ViewType, ParamType> task) {
+        if (!task.canceled) {
+            task.cancel();
+            canceledTaskCount.incrementAndGet();
+
+            for (Request<DataType, ViewType, ParamType> request : task.requests) {
+                if (request.future != null) {
+                    request.future.abort();
+                }
+            }
         }
     }
 
     /**
-     * Notifies all listeners, that the data binder has been canceled.
+     * Cancels all tasks, which are currently executed.
      */
-    private void notifyOnCanceled() {
-        for (Listener<DataType, KeyType, ViewType, ParamType> listener : listeners) {
-            listener.onCanceled(this);
+    private void cancelAllTasks() {
+        synchronized (tasks) {
+            for (Task<DataType, KeyType, ViewType, ParamType> task : keyTasks.values()) {
+                cancelTask(task);
+            }
+
+            for (Task<DataType, KeyType, ViewType, ParamType> task : tasks.values()) {
+                cancelTask(task);
+            }
+
+            keyTasks.clear();
+            tasks.clear();
         }
     }
 
     /**
-     * Returns the data, which corresponds to a specific key, from the cache.
+     * Sets, whether loading the data has been canceled, or not.
      *
-     * @param key
-     *         The key of the data, which should be retrieved, as an instance of the generic type
-     *         KeyType. The key may not be null
-     * @return The data, which has been retrieved, as an instance of the generic type DataType or
-     * null, if no data with the given key is contained by the cache
+     * @param canceled
+     *         True, if loading the data has been canceled, false otherwise
      */
-    @Nullable
-    private DataType getCachedData(@NonNull final KeyType key) {
-        synchronized (cache) {
-            return cache.get(key);
+    private void setCanceled(final boolean canceled) {
+        this.canceled = canceled;
+    }
+
+    /**
+     * Logs the current metrics of the data binder and schedules logging them again, if they should
+     * be logged periodically.
+     */
+    private void logMetrics() {
+        long interval = metricsLogInterval;
+
+        if (interval > 0) {
+            if (logger.isLoggable(LogLevel.INFO)) {
+                logger.logInfo(getClass(), getMetrics().toString());
+            }
+
+            postDelayed(metricsLogRunnable, interval);
         }
     }
 
     /**
-     * Adds the data, which corresponds to a specific key, to the cache, if caching is enabled.
+     * Registers a callback at the application context, which trims the cache, when the system
+     * requests to release memory.
+     *
+     * @param context
+     *         The context, which is used by the data binder, as an instance of the class {@link
+     *         Context}. The context may not be null
+     * @return The callback, which has been registered, as an instance of the class {@link
+     * TrimMemoryCallback}. The callback may not be null
+     */
+    @NonNull
+    private TrimMemoryCallback registerTrimMemoryCallback(@NonNull final Context context) {
+        Context applicationContext = context.getApplicationContext();
+        applicationContext = applicationContext != null ? applicationContext : context;
+        TrimMemoryCallback callback = new TrimMemoryCallback(applicationContext, this);
+        applicationContext.registerComponentCallbacks(callback);
+        return callback;
+    }
+
+    /**
+     * The method, which is invoked in order to measure the size of data, which is stored in the
+     * cache. If the data binder has been created by using a constructor, which allows to specify
+     * the maximum size of the cache, each data item has a size of 1 by default, i.e. the maximum
+     * size of the cache corresponds to the maximum number of cached items. Otherwise, the size of
+     * the cache is measured in bytes by default. In such case, the size of bitmaps corresponds to
+     * their byte count and any other data item occupies a fraction of the cache, which allows to
+     * store <code>CACHE_SIZE</code> items. This method may be overridden in order to measure the
+     * size of data differently, e.g. in bytes. In such case, a data binder should be created by
+     * using a constructor, which allows to specify the maximum size of the cache accordingly. The
+     * size of data must not change while it is cached.
+     * <p>
+     * This method is not used, if a cache has been passed to the constructor of the data binder.
      *
      * @param key
-     *         The key of the data, which should be added to the cache, as an instance of the
-     *         generic type KeyType. The key may not be null
+     *         The key of the data, whose size should be returned, as an instance of the generic
+     *         type KeyType. The key may not be null
      * @param data
-     *         The data, which should be added to the cache, as an instance of the generic type
+     *         The data, whose size should be returned, as an instance of the generic type
      *         DataType. The data may not be null
+     * @return The size of the given data as an {@link Integer} value. The size must be at least 0
      */
-    private void cacheData(@NonNull final KeyType key, @NonNull final DataType data) {
-        synchronized (cache) {
-            if (useCache) {
-                cache.put(key, data);
+    protected int sizeOf(@NonNull final KeyType key, @NonNull final DataType data) {
+        if (defaultItemSize > 0) {
+            if (data instanceof Bitmap) {
+                Bitmap bitmap = (Bitmap) data;
+                return Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT ?
+                        bitmap.getAllocationByteCount() : bitmap.getByteCount();
             }
+
+            return defaultItemSize;
         }
+
+        return 1;
     }
 
     /**
-     * Asynchronously executes a specific task in order to load data and to display it afterwards.
+     * The method, which is invoked in order to derive the key, the result of applying a specific
+     * transformation to data should be cached under. By default, no keys are derived and
+     * therefore the results of transformations are not cached. This method may be overridden in
+     * order to cache the results of transformations, e.g. by appending the key of the
+     * transformation to the given key. The derived key must differ from all keys, which are used
+     * to load data.
      *
-     * @param task
-     *         The task, which should be executed, as an instance of the class {@link Task}. The
-     *         task may not be null
+     * @param key
+     *         The key of the data, the transformation is applied to, as an instance of the generic
+     *         type KeyType. The key may not be null
+     * @param transformationKey
+     *         The key of the transformation, as returned by the method {@link
+     *         Transformation#getKey()}, as a {@link String}. The key may neither be null, nor empty
+     * @return The derived key as an instance of the generic type KeyType or null, if the result of
+     * the transformation should not be cached
      */
-    private void loadDataAsynchronously(
-            @NonNull final Task<DataType, KeyType, ViewType, ParamType> task) {
-        threadPool.submit(new Runnable() {
-
-            @Override
-            public void run() {
-                if (!isCanceled()) {
-                    while (!notifyOnLoad(task.key, task.params)) {
-                        try {
-                            Thread.sleep(100);
-                        } catch (InterruptedException e) {
-                            break;
-                        }
-                    }
-
-                    task.result = loadData(task);
-                    Message message = Message.obtain();
-                    message.obj = task;
-                    sendMessage(message);
-                }
-            }
+    @Nullable
+    protected KeyType deriveKey(@NonNull final KeyType key,
+                                @NonNull final String transformationKey) {
+        return null;
+    }
 
-        });
+    /**
+     * The method, which is invoked in order to check, whether data, which has been revalidated,
+     * differs from the stale data, which is already displayed. If this is not the case, the
+     * revalidated data is not displayed again. By default, the data is compared by using its
+     * <code>equals</code>-method. This method may be overridden in order to compare data
+     * differently, e.g. by comparing version numbers.
+     *
+     * @param oldData
+     *         The stale data, which is already displayed, as an instance of the generic type
+     *         DataType. The data may not be null
+     * @param newData
+     *         The data, which has been revalidated, as an instance of the generic type DataType.
+     *         The data may not be null
+     * @return True, if the given data is equal, false otherwise
+     */
+    protected boolean isEqual(@NonNull final DataType oldData, @NonNull final DataType newData) {
+        return oldData.equals(newData);
     }
 
     /**
-     * Executes a specific task in order to load data.
+     * Returns, whether two chains of transformations are equal. As transformations do not
+     * necessarily implement an <code>equals</code>-method, they are compared by their keys.
      *
-     * @param task
-     *         The task, which should be executed, as an instance of the class {@link Task}. The
-     *         task may not be null
-     * @return The data, which has been loaded, as an instance of the generic type DataType or null,
-     * if no data has been loaded
+     * @param transformations1
+     *         A list, which contains the first chain of transformations, as an instance of the
+     *         type {@link List}. The list may not be null
+     * @param transformations2
+     *         A list, which contains the second chain of transformations, as an instance of the
+     *         type {@link List}. The list may not be null
+     * @return True, if the given chains of transformations are equal, false otherwise
      */
-    @Nullable
-    private DataType loadData(@NonNull final Task<DataType, KeyType, ViewType, ParamType> task) {
-        try {
-            DataType data = doInBackground(task.key, task.params);
+    private boolean areEqual(@NonNull final List<Transformation<DataType>> transformations1,
+                             @NonNull final List<Transformation<DataType>> transformations2) {
+        if (transformations1.size() != transformations2.size()) {
+            return false;
+        }
 
-            if (data != null) {
-                cacheData(task.key, data);
-            }
+        for (int i = 0; i < transformations1.size(); i++) {
+            Transformation<DataType> transformation1 = transformations1.get(i);
+            Transformation<DataType> transformation2 = transformations2.get(i);
 
-            logger.logInfo(getClass(), "Loaded data with key " + task.key);
-            return data;
-        } catch (Exception e) {
-            logger.logError(getClass(), "An error occurred while loading data with key " + task.key,
-                    e);
-            return null;
+            if (transformation1 != transformation2 &&
+                    !transformation1.getKey().equals(transformation2.getKey())) {
+                return false;
+            }
         }
+
+        return true;
     }
 
     /**
-     * Sets, whether loading the data has been canceled, or not.
+     * Returns the keys, the results of applying specific transformations to the data, which
+     * corresponds to a specific key, should be cached under.
      *
-     * @param canceled
-     *         True, if loading the data has been canceled, false otherwise
+     * @param key
+     *         The key of the data, the transformations are applied to, as an instance of the
+     *         generic type KeyType. The key may not be null
+     * @param transformations
+     *         A list, which contains the transformations, as an instance of the type {@link List}.
+     *         The list may not be null
+     * @return A list, which contains the keys, the results of the individual transformations
+     * should be cached under, as an instance of the type {@link List}. A key is null, if the
+     * corresponding result should not be cached
      */
-    private void setCanceled(final boolean canceled) {
-        synchronized (cancelLock) {
-            this.canceled = canceled;
+    @NonNull
+    private List<KeyType> getStageKeys(
+            @NonNull final KeyType key,
+            @NonNull final List<Transformation<DataType>> transformations) {
+        if (transformations.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<KeyType> stageKeys = new ArrayList<>(transformations.size());
+        KeyType stageKey = key;
+
+        for (Transformation<DataType> transformation : transformations) {
+            Condition.INSTANCE.ensureNotNull(transformation, "The transformation may not be null");
+            stageKey = stageKey != null ? deriveKey(stageKey, transformation.getKey()) : null;
+            stageKeys.add(stageKey);
         }
+
+        return stageKeys;
     }
 
     /**
@@ -427,10 +2228,28 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
 
     }
 
+    /**
+     * Returns, whether the task, which is currently executed by the calling thread, has been
+     * canceled. This is the case, if all views, the task belongs to, have been recycled in order
+     * to display other data, or if the data binder has been canceled. This method may be called
+     * periodically by the method {@link #doInBackground(Object, Object[])} in order to abort
+     * loading data, which is not needed anymore. The result of a canceled task is neither cached,
+     * nor displayed.
+     *
+     * @return True, if the task, which is currently executed by the calling thread, has been
+     * canceled, false otherwise or if the calling thread does not execute a task
+     */
+    protected final boolean isTaskCanceled() {
+        Task<DataType, KeyType, ViewType, ParamType> task = currentTask.get();
+        return task != null && (task.canceled || isCanceled());
+    }
+
     /**
      * The method, which is invoked on implementing subclasses, in order to load the data, which
      * corresponds to a specific key. This method is executed in a background thread and therefore
-     * no views may be modified.
+     * no views may be modified. Long-running implementations should check the method {@link
+     * #isTaskCanceled()} periodically in order to abort loading data, which is not needed
+     * anymore.
      *
      * @param key
      *         The key of the data, which should be loaded, as an instance of the generic type
@@ -446,6 +2265,29 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
     protected abstract DataType doInBackground(@NonNull final KeyType key,
                                                @NonNull final ParamType... params);
 
+    /**
+     * The method, which is invoked in order to load the data, which corresponds to multiple keys,
+     * at once, if a batch window is set. This method is executed in a background thread and
+     * therefore no views may be modified. It may be overridden, if loading multiple data items at
+     * once is cheaper than loading them individually. By default, batch loading is not supported
+     * and the data is loaded individually by using the method {@link #doInBackground(Object,
+     * Object[])}.
+     * <p>
+     * Batch loading does not take the parameters, which have been passed when loading data, into
+     * account and the method {@link #isTaskCanceled()} always returns false within this method.
+     *
+     * @param keys
+     *         A collection, which contains the keys of the data, which should be loaded, as an
+     *         instance of the type {@link Collection}. The collection may not be null
+     * @return A map, which contains the data, which has been loaded, mapped to the corresponding
+     * keys, as an instance of the type {@link Map} or null, if batch loading is not supported. If
+     * the map does not contain a key, no data is loaded for it
+     */
+    @Nullable
+    protected Map<KeyType, DataType> doInBackgroundBatch(@NonNull final Collection<KeyType> keys) {
+        return null;
+    }
+
     /**
      * The method, which is invoked on implementing subclasses, in order to display data after it
      * has been loaded.
@@ -468,25 +2310,87 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
                                           @Nullable final DataType data, final long duration,
                                           @NonNull final ParamType... params);
 
+    /**
+     * Returns a suitable maximum size of the cache, which is used by a data binder to store
+     * already loaded data, in bytes. It corresponds to one eighth of the memory class of the
+     * device, i.e. the approximate heap size, each app should not exceed.
+     *
+     * @param context
+     *         The context, which should be used, as an instance of the class {@link Context}. The
+     *         context may not be null
+     * @return The maximum size of the cache in bytes as an {@link Integer} value
+     */
+    public static int getDefaultCacheSize(@NonNull final Context context) {
+        Condition.INSTANCE.ensureNotNull(context, "The context may not be null");
+        ActivityManager activityManager =
+                (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        long memory = activityManager != null ? activityManager.getMemoryClass() * 1024L * 1024L :
+                Runtime.getRuntime().maxMemory();
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, memory / 8));
+    }
+
+    /**
+     * Ensures, that a specific cache is not null.
+     *
+     * @param cache
+     *         The cache, which should be checked, as an instance of the class LruCache. The cache
+     *         may not be null
+     * @param <K>
+     *         The type of the cache's keys
+     * @param <V>
+     *         The type of the cache's values
+     * @return The given cache as an instance of the class LruCache. The cache may not be null
+     */
+    @NonNull
+    private static <K, V> LruCache<K, V> ensureNotNull(@NonNull final LruCache<K, V> cache) {
+        Condition.INSTANCE.ensureNotNull(cache, "The cache may not be null");
+        return cache;
+    }
+
     /**
      * Creates a new data binder. Caching is enabled by default. The cache, which is used to store
-     * already loaded data, caches up to <code>CACHE_SIZE</code> items. The executor service, which
-     * is used to manage asynchronous tasks, is created by using the static method
-     * <code>Executors.newCachedThreadPool</code>. Such executor services are meant to be used when
-     * many short-living tasks are executed and reuse previously created threads.
+     * already loaded data, is a LRU cache, whose maximum size in bytes is determined by the method
+     * {@link #getDefaultCacheSize(Context)}. Unless the method {@link #sizeOf(Object,
+     * Object)} is overridden, bitmaps are measured by their byte count and up to
+     * <code>CACHE_SIZE</code> items of any other data are cached. The executor service, which is
+     * used to manage asynchronous tasks, is a {@link PriorityThreadPoolExecutor}, which uses as
+     * many threads as processors are available and loads the data of the most recently bound views
+     * first.
      *
      * @param context
      *         The context, which should be used by the data binder, as an instance of the class
      *         {@link Context}. The context may not be null
      */
     public AbstractDataBinder(@NonNull final Context context) {
-        this(context, Executors.newCachedThreadPool());
+        this(context, new PriorityThreadPoolExecutor());
+    }
+
+    /**
+     * Creates a new data binder, which uses a specific maximum cache size. Caching is enabled by
+     * default. The size of cached data is measured by the method {@link #sizeOf(Object, Object)}.
+     * The executor service, which is used to manage asynchronous tasks, is a {@link
+     * PriorityThreadPoolExecutor}, which uses as many threads as processors are available and loads
+     * the data of the most recently bound views first.
+     *
+     * @param context
+     *         The context, which should be used by the data binder, as an instance of the class
+     *         {@link Context}. The context may not be null
+     * @param maxCacheSize
+     *         The maximum size of the cache, which is used to store already loaded data, in the
+     *         units of the method {@link #sizeOf(Object, Object)}, e.g. in bytes, as an {@link
+     *         Integer} value. The maximum size must be at least 1. The method {@link
+     *         #getDefaultCacheSize(Context)} allows to retrieve a suitable budget in bytes
+     */
+    public AbstractDataBinder(@NonNull final Context context, final int maxCacheSize) {
+        this(context, new PriorityThreadPoolExecutor(), maxCacheSize);
     }
 
     /**
      * Creates a new data binder, which uses a specific executor service. Caching is enabled by
-     * default. The cache, which is used to store already loaded data, caches up to
-     * <code>CACHE_SIZE</code> items.
+     * default. The cache, which is used to store already loaded data, is a LRU cache, whose
+     * maximum size in bytes is determined by the method {@link #getDefaultCacheSize(Context)}.
+     * Unless the method {@link #sizeOf(Object, Object)} is overridden, bitmaps are measured by
+     * their byte count and up to <code>CACHE_SIZE</code> items of any other data are cached.
      *
      * @param context
      *         The context, which should be used by the data binder, as an instance of the class
@@ -497,14 +2401,36 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
      */
     public AbstractDataBinder(@NonNull final Context context,
                               @NonNull final ExecutorService threadPool) {
-        this(context, threadPool, new LruCache<KeyType, DataType>(CACHE_SIZE));
+        this(context, threadPool, null, getDefaultCacheSize(context), true);
+    }
+
+    /**
+     * Creates a new data binder, which uses a specific executor service and maximum cache size.
+     * Caching is enabled by default. The size of cached data is measured by the method {@link
+     * #sizeOf(Object, Object)}.
+     *
+     * @param context
+     *         The context, which should be used by the data binder, as an instance of the class
+     *         {@link Context}. The context may not be null
+     * @param threadPool
+     *         The executor service, which should be used to manage asynchronous tasks, as an
+     *         instance of the type {@link ExecutorService}. The executor service may not be null
+     * @param maxCacheSize
+     *         The maximum size of the cache, which is used to store already loaded data, in the
+     *         units of the method {@link #sizeOf(Object, Object)}, e.g. in bytes, as an {@link
+     *         Integer} value. The maximum size must be at least 1. The method {@link
+     *         #getDefaultCacheSize(Context)} allows to retrieve a suitable budget in bytes
+     */
+    public AbstractDataBinder(@NonNull final Context context,
+                              @NonNull final ExecutorService threadPool, final int maxCacheSize) {
+        this(context, threadPool, null, maxCacheSize, false);
     }
 
     /**
      * Creates a new data binder, which uses a specific cache. Caching is enabled by default. The
-     * executor service, which is used to manage asynchronous tasks, is created by using the static
-     * method <code>Executors.newCachedThreadPool</code>. Such executor services are meant to be
-     * used when many short-living tasks are executed and reuse previously created threads.
+     * executor service, which is used to manage asynchronous tasks, is a {@link
+     * PriorityThreadPoolExecutor}, which uses as many threads as processors are available and loads
+     * the data of the most recently bound views first.
      *
      * @param context
      *         The context, which should be used by the data binder, as an instance of the class
@@ -515,7 +2441,7 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
      */
     public AbstractDataBinder(@NonNull final Context context,
                               @NonNull final LruCache<KeyType, DataType> cache) {
-        this(context, Executors.newCachedThreadPool(), cache);
+        this(context, new PriorityThreadPoolExecutor(), cache);
     }
 
     /**
@@ -535,18 +2461,101 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
     public AbstractDataBinder(@NonNull final Context context,
                               @NonNull final ExecutorService threadPool,
                               @NonNull final LruCache<KeyType, DataType> cache) {
+        this(context, threadPool, ensureNotNull(cache), 0, false);
+    }
+
+    /**
+     * Creates a new data binder, which uses a specific executor service and either a specific
+     * cache or a cache with a specific maximum size.
+     *
+     * @param context
+     *         The context, which should be used by the data binder, as an instance of the class
+     *         {@link Context}. The context may not be null
+     * @param threadPool
+     *         The executor service, which should be used to manage asynchronous tasks, as an
+     *         instance of the type {@link ExecutorService}. The executor service may not be null
+     * @param cache
+     *         The LRU cache, which should be used to cache already loaded data, as an instance of
+     *         the class LruCache or null, if a cache, which measures the size of cached data by
+     *         using the method {@link #sizeOf(Object, Object)}, should be created
+     * @param maxCacheSize
+     *         The maximum size of the cache, which should be created, as an {@link Integer} value.
+     *         The maximum size must be at least 1, if no cache is given
+     * @param measureBytes
+     *         True, if the size of the cache, which should be created, is measured in bytes by
+     *         default, false, if it is measured in items by default
+     */
+    private AbstractDataBinder(@NonNull final Context context,
+                               @NonNull final ExecutorService threadPool,
+                               @Nullable final LruCache<KeyType, DataType> cache,
+                               final int maxCacheSize, final boolean measureBytes) {
         Condition.INSTANCE.ensureNotNull(context, "The context may not be null");
         Condition.INSTANCE.ensureNotNull(threadPool, "The executor service may not be null");
-        Condition.INSTANCE.ensureNotNull(cache, "The cache may not be null");
+
+        if (cache == null) {
+            Condition.INSTANCE.ensureAtLeast(maxCacheSize, 1,
+                    "The maximum cache size must be at least 1");
+        }
+
         this.context = context;
+        this.defaultItemSize = measureBytes ? Math.max(1, maxCacheSize / CACHE_SIZE) : 0;
         this.logger = new Logger(LogLevel.INFO);
         this.listeners = new ListenerList<>();
-        this.cache = cache;
+        this.cache = cache != null ? cache : new DataCache(maxCacheSize);
+        this.cacheTimes = new LruCache<>(MAX_CACHE_TIME_COUNT);
+        this.timeToLive = 0;
+        this.maxStaleness = Long.MAX_VALUE;
         this.views = Collections.synchronizedMap(new WeakHashMap<ViewType, KeyType>());
+        this.tasks = Collections.synchronizedMap(
+                new WeakHashMap<ViewType, Task<DataType, KeyType, ViewType, ParamType>>());
+        this.keyTasks = new HashMap<>();
+        this.coalescedLoadCount = new AtomicLong(0);
+        this.currentTask = new ThreadLocal<>();
+        this.taskPool = new Pools.SynchronizedPool<>(TASK_POOL_SIZE);
         this.threadPool = threadPool;
-        this.cancelLock = new Object();
+        this.deferredTasks = new ConcurrentLinkedQueue<>();
+        this.deferredTaskCount = new AtomicInteger(0);
+        this.maxDeferredTaskCount = new AtomicInteger(0);
+        this.resumedTaskCount = new AtomicLong(0);
+        this.totalDeferralTime = new AtomicLong(0);
+        this.maxDeferralTime = new AtomicLong(0);
+        this.resumeSignal = new AtomicLong(0);
+        this.cacheHitCount = new AtomicLong(0);
+        this.cacheMissCount = new AtomicLong(0);
+        this.canceledTaskCount = new AtomicLong(0);
+        this.discardedResultCount = new AtomicLong(0);
+        this.queueWaitHistogram = new LatencyHistogram();
+        this.loadTimeHistogram = new LatencyHistogram();
+        this.deliveryLatencyHistogram = new LatencyHistogram();
+        this.metricsLogRunnable = new Runnable() {
+
+            @Override
+            public void run() {
+                logMetrics();
+            }
+
+        };
+        this.metricsLogInterval = 0;
+        this.prefetchHitCount = new AtomicLong(0);
+        this.prefetchMissCount = new AtomicLong(0);
+        this.batchedTasks = new ArrayList<>();
+        this.batchRunnable = new Runnable() {
+
+            @Override
+            public void run() {
+                flushBatch();
+            }
+
+        };
+        this.batchWindow = 0;
+        this.completedTasks = new ConcurrentLinkedQueue<>();
+        this.deliveryScheduled = new AtomicBoolean(false);
+        this.frameCallback = null;
+        this.frameBudget = DEFAULT_FRAME_BUDGET;
         this.canceled = false;
         this.useCache = true;
+        this.diskCache = null;
+        this.trimMemoryCallback = registerTrimMemoryCallback(context);
     }
 
     /**
@@ -630,7 +2639,9 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
 
     /**
      * Loads the the data, which corresponds to a specific key, and displays it in a specific view.
-     * If the data has already been loaded, it will be retrieved from the cache.
+     * If the data has already been loaded, it will be retrieved from the cache. If data, which
+     * corresponds to a different key, is still being loaded for the given view, loading this data
+     * is canceled.
      *
      * @param key
      *         The key of the data, which should be loaded, as an instance of the generic type
@@ -647,51 +2658,575 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
     @SafeVarargs
     public final void load(@NonNull final KeyType key, @NonNull final ViewType view,
                            final boolean async, @NonNull final ParamType... params) {
+        load(key, view, async, Collections.<Transformation<DataType>>emptyList(), null, params);
+    }
+
+    /**
+     * Asynchronously loads the data, which corresponds to a specific key, applies a chain of
+     * transformations to it in a background thread and displays the result in a specific view. If
+     * keys can be derived for the results of the transformations by using the method {@link
+     * #deriveKey(Object, String)}, these results are cached. Otherwise, only the data, which has
+     * been loaded before applying any transformations, is cached. If the view is used to display
+     * other data in the meantime, loading the data and applying the transformations is canceled.
+     *
+     * @param key
+     *         The key of the data, which should be loaded, as an instance of the generic type
+     *         KeyType. The key may not be null
+     * @param view
+     *         The view, which should be used to display the data, as an instance of the generic
+     *         type ViewType. The view may not be null
+     * @param transformations
+     *         A list, which contains the transformations, which should be applied to the data in
+     *         the given order, as an instance of the type {@link List}. The list may not be null
+     * @param params
+     *         An array, which contains optional parameters, as an array of the type ParamType or an
+     *         empty array, if no parameters should be used
+     * @return A future, which allows to wait for the transformed data and to cancel loading it,
+     * as an instance of the class {@link LoadFuture}. The future may not be null
+     */
+    @SafeVarargs
+    @NonNull
+    public final LoadFuture<DataType> loadTransformed(
+            @NonNull final KeyType key, @NonNull final ViewType view,
+            @NonNull final List<Transformation<DataType>> transformations,
+            @NonNull final ParamType... params) {
+        Condition.INSTANCE.ensureNotNull(transformations, "The list may not be null");
+        final LoadFuture<DataType> future = new LoadFuture<>();
+        future.setCancelCallback(new Runnable() {
+
+            @Override
+            public void run() {
+                cancelRequest(view, future);
+            }
+
+        });
+        load(key, view, true, new ArrayList<>(transformations), future, params);
+        return future;
+    }
+
+    /**
+     * Loads the the data, which corresponds to a specific key, applies a chain of transformations
+     * to it and displays it in a specific view.
+     *
+     * @param key
+     *         The key of the data, which should be loaded, as an instance of the generic type
+     *         KeyType. The key may not be null
+     * @param view
+     *         The view, which should be used to display the data, as an instance of the generic
+     *         type ViewType. The view may not be null
+     * @param async
+     *         True, if the data should be loaded in a background thread, false otherwise
+     * @param transformations
+     *         A list, which contains the transformations, which should be applied to the data, as
+     *         an instance of the type {@link List}. The list may not be null
+     * @param future
+     *         The future, which should be completed once the data has been loaded, as an instance
+     *         of the class {@link LoadFuture} or null, if no future should be completed
+     * @param params
+     *         An array, which contains optional parameters, as an array of the type ParamType or an
+     *         empty array, if no parameters should be used
+     */
+    private void load(@NonNull final KeyType key, @NonNull final ViewType view,
+                      final boolean async,
+                      @NonNull final List<Transformation<DataType>> transformations,
+                      @Nullable final LoadFuture<DataType> future,
+                      @NonNull final ParamType[] params) {
         Condition.INSTANCE.ensureNotNull(key, "The key may not be null");
         Condition.INSTANCE.ensureNotNull(view, "The view may not be null");
         Condition.INSTANCE.ensureNotNull(params, "The array may not be null");
         setCanceled(false);
-        views.put(view, key);
-        DataType data = getCachedData(key);
+        List<KeyType> stageKeys = getStageKeys(key, transformations);
+        KeyType transformedKey = stageKeys.isEmpty() ? key : stageKeys.get(stageKeys.size() - 1);
+        boolean cacheable = transformedKey != null;
+        KeyType viewKey = cacheable ? transformedKey : key;
+        views.put(view, viewKey);
+        boolean loading = cancelTask(view, viewKey, transformations);
+        DataType data = cacheable ? getCachedData(viewKey) : null;
+        boolean revalidate = false;
+        long timeToLive = this.timeToLive;
+
+        if (data != null && timeToLive > 0) {
+            long age = getCacheAge(viewKey);
+
+            if (age >= timeToLive) {
+                if (age - timeToLive >= maxStaleness) {
+                    data = null;
+                } else {
+                    revalidate = true;
+                }
+            }
+        }
 
         if (!isCanceled()) {
             if (data != null) {
+                cacheHitCount.incrementAndGet();
                 onPostExecute(view, data, 0, params);
                 notifyOnFinished(key, data, view, params);
-                logger.logInfo(getClass(), "Loaded data with key " + key + " from cache");
+
+                if (future != null) {
+                    future.complete(data);
+                }
+
+                if (logger.isLoggable(LogLevel.INFO)) {
+                    logger.logInfo(getClass(), "Loaded data with key " + viewKey + " from cache");
+                }
+
+                if (revalidate && async && !loading) {
+                    Task<DataType, KeyType, ViewType, ParamType> task =
+                            addRequest(viewKey, key, view, params, transformations, stageKeys,
+                                    true, null, data);
+
+                    if (task != null) {
+                        if (logger.isLoggable(LogLevel.VERBOSE)) {
+                            logger.logVerbose(getClass(), "Revalidating stale data with key " +
+                                    viewKey);
+                        }
+
+                        loadDataAsynchronously(task);
+                    }
+                }
             } else {
+                cacheMissCount.incrementAndGet();
                 onPreExecute(view, params);
-                Task<DataType, KeyType, ViewType, ParamType> task = new Task<>(view, key, params);
 
                 if (async) {
-                    loadDataAsynchronously(task);
+                    if (!loading) {
+                        Task<DataType, KeyType, ViewType, ParamType> task =
+                                addRequest(viewKey, key, view, params, transformations, stageKeys,
+                                        cacheable, future, null);
+
+                        if (task != null) {
+                            if (batchWindow > 0 && transformations.isEmpty()) {
+                                addToBatch(task);
+                            } else {
+                                loadDataAsynchronously(task);
+                            }
+                        }
+                    } else if (future != null) {
+                        attachFuture(view, future);
+                    }
                 } else {
+                    Task<DataType, KeyType, ViewType, ParamType> task = obtainTask(viewKey, params);
+                    task.baseKey = key;
+                    task.transformations = transformations;
+                    task.stageKeys = stageKeys;
                     data = loadData(task);
+                    releaseTask(task);
                     onPostExecute(view, data, 0, params);
                     notifyOnFinished(key, data, view, params);
+
+                    if (future != null) {
+                        future.complete(data);
+                    }
+                }
+            }
+        } else if (future != null) {
+            future.abort();
+        }
+    }
+
+    /**
+     * Prefetches the data, which corresponds to a specific key, in order to store it in the cache,
+     * before it is displayed. The data is loaded in a background thread with a lower priority than
+     * data, which is loaded for views, if a {@link PriorityThreadPoolExecutor} is used. The method
+     * {@link #onPostExecute(Object, Object, long, Object[])} is not invoked for prefetched data,
+     * unless it is requested for a view, while it is still being loaded. If caching is disabled,
+     * calling this method has no effect.
+     *
+     * @param key
+     *         The key of the data, which should be prefetched, as an instance of the generic type
+     *         KeyType. The key may not be null
+     * @param params
+     *         An array, which contains optional parameters, as an array of the type ParamType or an
+     *         empty array, if no parameters should be used
+     */
+    @SafeVarargs
+    public final void prefetch(@NonNull final KeyType key, @NonNull final ParamType... params) {
+        Condition.INSTANCE.ensureNotNull(key, "The key may not be null");
+        Condition.INSTANCE.ensureNotNull(params, "The array may not be null");
+
+        if (!isCanceled() && isCacheUsed()) {
+            if (isCached(key)) {
+                prefetchHitCount.incrementAndGet();
+            } else {
+                prefetchMissCount.incrementAndGet();
+                Task<DataType, KeyType, ViewType, ParamType> task = null;
+
+                synchronized (tasks) {
+                    Task<DataType, KeyType, ViewType, ParamType> existingTask = keyTasks.get(key);
+
+                    if (existingTask == null || existingTask.canceled) {
+                        task = obtainTask(key, params);
+                        task.prefetch = true;
+                        keyTasks.put(key, task);
+                    }
+                }
+
+                if (task != null) {
+                    if (logger.isLoggable(LogLevel.VERBOSE)) {
+                        logger.logVerbose(getClass(), "Prefetching data with key " + key);
+                    }
+
+                    loadDataAsynchronously(task);
                 }
             }
         }
     }
 
+    /**
+     * Prefetches the data, which corresponds to specific keys, in order to store it in the cache,
+     * before it is displayed. The data is loaded in background threads with a lower priority than
+     * data, which is loaded for views, if a {@link PriorityThreadPoolExecutor} is used. The method
+     * {@link #onPostExecute(Object, Object, long, Object[])} is not invoked for prefetched data,
+     * unless it is requested for a view, while it is still being loaded. If caching is disabled,
+     * calling this method has no effect.
+     *
+     * @param keys
+     *         A collection, which contains the keys of the data, which should be prefetched, as an
+     *         instance of the type {@link Collection}. The collection may not be null
+     * @param params
+     *         An array, which contains optional parameters, as an array of the type ParamType or an
+     *         empty array, if no parameters should be used
+     */
+    @SafeVarargs
+    public final void prefetchAll(@NonNull final Collection<KeyType> keys,
+                                  @NonNull final ParamType... params) {
+        Condition.INSTANCE.ensureNotNull(keys, "The collection may not be null");
+
+        for (KeyType key : keys) {
+            prefetch(key, params);
+        }
+    }
+
+    /**
+     * Returns the number of prefetched keys, whose data has already been cached.
+     *
+     * @return The number of prefetched keys, whose data has already been cached, as a {@link Long}
+     * value
+     */
+    public final long getPrefetchHitCount() {
+        return prefetchHitCount.get();
+    }
+
+    /**
+     * Returns the number of prefetched keys, whose data has not been cached and therefore had to be
+     * loaded.
+     *
+     * @return The number of prefetched keys, whose data has not been cached, as a {@link Long}
+     * value
+     */
+    public final long getPrefetchMissCount() {
+        return prefetchMissCount.get();
+    }
+
+    /**
+     * Resumes all tasks, which have been deferred, because a listener did not allow to load their
+     * data yet. The listeners are notified again for each of these tasks. Tasks, which are still
+     * not allowed to be loaded, are deferred again. Tasks, which have been canceled in the
+     * meantime, are discarded.
+     */
+    public final void resumeDeferredTasks() {
+        resumeSignal.incrementAndGet();
+        Task<DataType, KeyType, ViewType, ParamType> task;
+
+        while ((task = deferredTasks.poll()) != null) {
+            deferredTaskCount.decrementAndGet();
+            task.deferred = false;
+
+            if (task.canceled) {
+                discardTask(task);
+                continue;
+            }
+
+            long deferralTime = System.currentTimeMillis() - task.deferralTime;
+            long maxTime;
+
+            do {
+                maxTime = maxDeferralTime.get();
+            } while (deferralTime > maxTime &&
+                    !maxDeferralTime.compareAndSet(maxTime, deferralTime));
+
+            totalDeferralTime.addAndGet(deferralTime);
+            resumedTaskCount.incrementAndGet();
+            loadDataAsynchronously(task);
+        }
+    }
+
+    /**
+     * Returns the number of tasks, which are currently deferred, because a listener did not allow
+     * to load their data yet.
+     *
+     * @return The number of tasks, which are currently deferred, as an {@link Integer} value
+     */
+    public final int getDeferredTaskCount() {
+        return deferredTaskCount.get();
+    }
+
+    /**
+     * Returns the maximum number of tasks, which have been deferred at the same time.
+     *
+     * @return The maximum number of tasks, which have been deferred at the same time, as an {@link
+     * Integer} value
+     */
+    public final int getMaxDeferredTaskCount() {
+        return maxDeferredTaskCount.get();
+    }
+
+    /**
+     * Returns the average time, deferred tasks have been waiting until they have been resumed.
+     *
+     * @return The average time, deferred tasks have been waiting until they have been resumed, in
+     * milliseconds as a {@link Long} value or 0, if no tasks have been resumed yet
+     */
+    public final long getAverageDeferralTime() {
+        long count = resumedTaskCount.get();
+        return count > 0 ? totalDeferralTime.get() / count : 0;
+    }
+
+    /**
+     * Returns the maximum time, a deferred task has been waiting until it has been resumed.
+     *
+     * @return The maximum time, a deferred task has been waiting until it has been resumed, in
+     * milliseconds as a {@link Long} value or 0, if no tasks have been resumed yet
+     */
+    public final long getMaxDeferralTime() {
+        return maxDeferralTime.get();
+    }
+
     /**
      * Cancels loading the data.
      */
     public final void cancel() {
         setCanceled(true);
+        cancelAllTasks();
+        removeCallbacks(batchRunnable);
+
+        synchronized (batchedTasks) {
+            batchedTasks.clear();
+        }
+
+        Task<DataType, KeyType, ViewType, ParamType> task;
+
+        while ((task = deferredTasks.poll()) != null) {
+            deferredTaskCount.decrementAndGet();
+            task.deferred = false;
+            releaseTask(task);
+        }
+
+        completedTasks.clear();
         notifyOnCanceled();
         logger.logInfo(getClass(), "Canceled to load data");
     }
 
+    /**
+     * Disposes the data binder. Loading the data is canceled and the callback, which trims the
+     * cache, when the system requests to release memory, is unregistered. This method should be
+     * called, once the data binder is not needed anymore. Afterwards, the cache is not trimmed
+     * automatically anymore.
+     */
+    public final void dispose() {
+        cancel();
+        trimMemoryCallback.unregister();
+        logger.logInfo(getClass(), "Disposed data binder");
+    }
+
     /**
      * Returns, whether loading the data has been canceled, or not.
      *
      * @return True, if loading the data has been canceled, false otherwise
      */
     public final boolean isCanceled() {
-        synchronized (cancelLock) {
-            return canceled;
+        return canceled;
+    }
+
+    /**
+     * Returns the time, which may be spent per frame in order to display loaded data. If
+     * displaying the data, which has been loaded, exceeds this time, the remaining data is
+     * displayed when the next frame is rendered.
+     *
+     * @return The time, which may be spent per frame in order to display loaded data, in
+     * milliseconds as a {@link Long} value
+     */
+    public final long getFrameBudget() {
+        return frameBudget;
+    }
+
+    /**
+     * Sets the time, which may be spent per frame in order to display loaded data. If displaying
+     * the data, which has been loaded, exceeds this time, the remaining data is displayed when the
+     * next frame is rendered. At least one data item is displayed per frame.
+     *
+     * @param frameBudget
+     *         The time, which should be set, in milliseconds as a {@link Long} value. The time must
+     *         be at least 1
+     */
+    public final void setFrameBudget(final long frameBudget) {
+        Condition.INSTANCE.ensureAtLeast(frameBudget, 1, "The frame budget must be at least 1");
+        this.frameBudget = frameBudget;
+        logger.logDebug(getClass(), "Set frame budget to " + frameBudget + " ms");
+    }
+
+    /**
+     * Returns the time, cached data is considered as fresh. Once this time has expired, the
+     * cached data is still displayed, but revalidated in the background. If the revalidated data
+     * differs from the cached data, it is displayed afterwards.
+     *
+     * @return The time, cached data is considered as fresh, in milliseconds as a {@link Long}
+     * value or 0, if cached data is never revalidated
+     */
+    public final long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Sets the time, cached data should be considered as fresh. Once this time has expired, the
+     * cached data is still displayed, but revalidated in the background. If the revalidated data
+     * differs from the cached data according to the method {@link #isEqual(Object, Object)}, it
+     * is displayed afterwards. This only applies to data, which is loaded asynchronously.
+     *
+     * @param timeToLive
+     *         The time, which should be set, in milliseconds as a {@link Long} value or 0, if
+     *         cached data should never be revalidated. The time must be at least 0
+     */
+    public final void setTimeToLive(final long timeToLive) {
+        Condition.INSTANCE.ensureAtLeast(timeToLive, 0, "The time to live must be at least 0");
+        this.timeToLive = timeToLive;
+        logger.logDebug(getClass(), "Set time to live to " + timeToLive + " ms");
+    }
+
+    /**
+     * Returns the time, cached data may be displayed after its time to live has expired, while it
+     * is revalidated. Cached data, which is older, is treated as if it was not cached.
+     *
+     * @return The time, cached data may be displayed after its time to live has expired, in
+     * milliseconds as a {@link Long} value. <code>Long.MAX_VALUE</code>, if stale data is always
+     * displayed
+     */
+    public final long getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    /**
+     * Sets the time, cached data may be displayed after its time to live has expired, while it is
+     * revalidated. Cached data, which is older, is treated as if it was not cached. Cached data,
+     * whose age is not known, is only displayed, if the time is <code>Long.MAX_VALUE</code>.
+     *
+     * @param maxStaleness
+     *         The time, which should be set, in milliseconds as a {@link Long} value or
+     *         <code>Long.MAX_VALUE</code>, if stale data should always be displayed. The time must
+     *         be at least 0
+     */
+    public final void setMaxStaleness(final long maxStaleness) {
+        Condition.INSTANCE.ensureAtLeast(maxStaleness, 0, "The max staleness must be at least 0");
+        this.maxStaleness = maxStaleness;
+        logger.logDebug(getClass(), "Set max staleness to " + maxStaleness + " ms");
+    }
+
+    /**
+     * Returns the batch window, during which loads are collected in order to load them at once by
+     * using the method {@link #doInBackgroundBatch(Collection)}.
+     *
+     * @return The batch window in milliseconds as a {@link Long} value or 0, if data is loaded
+     * individually
+     */
+    public final long getBatchWindow() {
+        return batchWindow;
+    }
+
+    /**
+     * Sets the batch window, during which loads are collected in order to load them at once by
+     * using the method {@link #doInBackgroundBatch(Collection)}. A batch window, which corresponds
+     * to the duration of a frame, e.g. 16 milliseconds, collects the loads, which are requested
+     * while a list is laid out.
+     *
+     * @param batchWindow
+     *         The batch window, which should be set, in milliseconds as a {@link Long} value or 0,
+     *         if data should be loaded individually. The batch window must be at least 0
+     */
+    public final void setBatchWindow(final long batchWindow) {
+        Condition.INSTANCE.ensureAtLeast(batchWindow, 0, "The batch window must be at least 0");
+        this.batchWindow = batchWindow;
+
+        if (batchWindow == 0) {
+            removeCallbacks(batchRunnable);
+            flushBatch();
+        }
+
+        logger.logDebug(getClass(), "Set batch window to " + batchWindow + " ms");
+    }
+
+    /**
+     * Returns a snapshot of the metrics of the data binder, which can be used in order to tune the
+     * size of its cache and thread pool.
+     *
+     * @return A snapshot of the metrics of the data binder as an instance of the class {@link
+     * DataBinderMetrics}. The snapshot may not be null
+     */
+    @NonNull
+    public final DataBinderMetrics getMetrics() {
+        DataBinderMetrics metrics = new DataBinderMetrics();
+        metrics.cacheHitCount = cacheHitCount.get();
+        metrics.cacheMissCount = cacheMissCount.get();
+        metrics.prefetchHitCount = prefetchHitCount.get();
+        metrics.prefetchMissCount = prefetchMissCount.get();
+        metrics.coalescedLoadCount = coalescedLoadCount.get();
+        metrics.canceledTaskCount = canceledTaskCount.get();
+        metrics.discardedResultCount = discardedResultCount.get();
+        metrics.deferredTaskCount = getDeferredTaskCount();
+        metrics.maxDeferredTaskCount = getMaxDeferredTaskCount();
+        metrics.averageDeferralTime = getAverageDeferralTime();
+        metrics.maxDeferralTime = getMaxDeferralTime();
+        metrics.queueWaitTime = new DataBinderMetrics.Latency(queueWaitHistogram);
+        metrics.loadTime = new DataBinderMetrics.Latency(loadTimeHistogram);
+        metrics.deliveryLatency = new DataBinderMetrics.Latency(deliveryLatencyHistogram);
+
+        synchronized (tasks) {
+            metrics.inFlightTaskCount = keyTasks.size();
+        }
+
+        return metrics;
+    }
+
+    /**
+     * Returns the interval, the metrics of the data binder are logged at.
+     *
+     * @return The interval, the metrics of the data binder are logged at, in milliseconds as a
+     * {@link Long} value or 0, if they are not logged periodically
+     */
+    public final long getMetricsLogInterval() {
+        return metricsLogInterval;
+    }
+
+    /**
+     * Sets the interval, the metrics of the data binder should be logged at. The metrics are
+     * logged on the log level <code>INFO</code> by using the logger of the data binder.
+     *
+     * @param interval
+     *         The interval, which should be set, in milliseconds as a {@link Long} value or 0, if
+     *         the metrics should not be logged periodically. The interval must be at least 0
+     */
+    public final void setMetricsLogInterval(final long interval) {
+        Condition.INSTANCE.ensureAtLeast(interval, 0, "The interval must be at least 0");
+        this.metricsLogInterval = interval;
+        removeCallbacks(metricsLogRunnable);
+
+        if (interval > 0) {
+            postDelayed(metricsLogRunnable, interval);
         }
+
+        logger.logDebug(getClass(), "Set metrics log interval to " + interval + " ms");
+    }
+
+    /**
+     * Returns the number of requests, which did not cause data to be loaded, because the same data
+     * was already being loaded for another view. Such requests share the result of the already
+     * existing task.
+     *
+     * @return The number of requests, which did not cause data to be loaded, because the same data
+     * was already being loaded for another view, as a {@link Long} value
+     */
+    public final long getCoalescedLoadCount() {
+        return coalescedLoadCount.get();
     }
 
     /**
@@ -705,10 +3240,7 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
      */
     public final boolean isCached(@NonNull final KeyType key) {
         Condition.INSTANCE.ensureNotNull(key, "The key may not be null");
-
-        synchronized (cache) {
-            return cache.get(key) != null;
-        }
+        return getCachedData(key) != null;
     }
 
     /**
@@ -717,9 +3249,7 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
      * @return True, if data is cached, false otherwise
      */
     public final boolean isCacheUsed() {
-        synchronized (cache) {
-            return useCache;
-        }
+        return useCache;
     }
 
     /**
@@ -729,46 +3259,84 @@ public abstract class AbstractDataBinder<DataType, KeyType, ViewType, ParamType>
      *         True, if data should be cached, false otherwise.
      */
     public final void useCache(final boolean useCache) {
-        synchronized (cache) {
-            this.useCache = useCache;
-            logger.logDebug(getClass(), useCache ? "Enabled" : "Disabled" + " caching");
+        this.useCache = useCache;
+        logger.logDebug(getClass(), (useCache ? "Enabled" : "Disabled") + " caching");
 
-            if (!useCache) {
-                clearCache();
-            }
+        if (!useCache) {
+            clearCache();
         }
     }
 
+    /**
+     * Returns the disk cache, which is used as a second tier, if data is not contained by the
+     * in-memory cache.
+     *
+     * @return The disk cache, which is used as a second tier, as an instance of the class {@link
+     * DiskCache} or null, if no disk cache is used
+     */
+    @Nullable
+    public final DiskCache<KeyType, DataType> getDiskCache() {
+        return diskCache;
+    }
+
+    /**
+     * Sets the disk cache, which should be used as a second tier, if data is not contained by the
+     * in-memory cache. If a disk cache is used, it is consulted in a background thread before
+     * loading data by using the method {@link #doInBackground(Object, Object[])}. Data, which has
+     * been loaded, is written to the disk cache asynchronously. The disk cache is only used, if
+     * caching is enabled. It is not affected by the method {@link #clearCache()}.
+     *
+     * @param diskCache
+     *         The disk cache, which should be set, as an instance of the class {@link DiskCache}
+     *         or null, if no disk cache should be used
+     */
+    public final void setDiskCache(@Nullable final DiskCache<KeyType, DataType> diskCache) {
+        this.diskCache = diskCache;
+        logger.logDebug(getClass(), (diskCache != null ? "Enabled" : "Disabled") + " disk cache");
+    }
+
     /**
      * Clears the cache.
      */
     public final void clearCache() {
-        synchronized (cache) {
+        cache.evictAll();
+        cacheTimes.evictAll();
+        logger.logDebug(getClass(), "Cleared cache");
+    }
+
+    /**
+     * Trims the cache depending on a specific level, which indicates how much memory should be
+     * released. If the level is at least <code>ComponentCallbacks2.TRIM_MEMORY_MODERATE</code>, or
+     * if it is <code>ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL</code>, the cache is
+     * cleared. If the level is at least <code>ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN</code>, or
+     * if it is <code>ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW</code>, the cache is trimmed to
+     * half of its maximum size. This method is invoked automatically, when the system requests to
+     * release memory.
+     *
+     * @param level
+     *         The level, which indicates how much memory should be released, as an {@link Integer}
+     *         value. The level should be one of the <code>TRIM_MEMORY_</code> constants of the
+     *         interface {@link ComponentCallbacks2}
+     */
+    public final void trimMemory(final int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE ||
+                level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
             cache.evictAll();
-            logger.logDebug(getClass(), "Cleared cache");
+            cacheTimes.evictAll();
+            logger.logDebug(getClass(), "Cleared cache due to trim memory level " + level);
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN ||
+                level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            cache.trimToSize(cache.maxSize() / 2);
+            logger.logDebug(getClass(), "Trimmed cache to " + cache.size() +
+                    " due to trim memory level " + level);
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public final void handleMessage(final Message msg) {
-        Task<DataType, KeyType, ViewType, ParamType> task = (Task) msg.obj;
-
-        if (!isCanceled()) {
-            KeyType key = views.get(task.view);
-
-            if (key != null && key.equals(task.key)) {
-                long duration = System.currentTimeMillis() - task.startTime;
-                onPostExecute(task.view, task.result, duration, task.params);
-                notifyOnFinished(task.key, task.result, task.view, task.params);
-            } else {
-                logger.logVerbose(getClass(),
-                        "Data with key " + task.key + " not displayed. View has been recycled");
-            }
-        } else {
-            logger.logVerbose(getClass(),
-                    "Data with key " + task.key + " not displayed. Loading data has been canceled");
+        if (msg.what == DELIVER_RESULTS_MESSAGE) {
+            scheduleDelivery();
         }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright 2015 - 2019 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.util.multithreading;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A snapshot of the metrics of an {@link AbstractDataBinder}, which can be used in order to tune
+ * the size of its cache and thread pool. The values of a snapshot do not change once it has been
+ * created.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class DataBinderMetrics {
+
+    /**
+     * The distribution of latencies, which have been recorded by an {@link AbstractDataBinder}.
+     * All latencies are specified in microseconds.
+     */
+    public static class Latency {
+
+        /**
+         * The number of latencies, which have been recorded.
+         */
+        private final long count;
+
+        /**
+         * The average latency in microseconds.
+         */
+        private final long average;
+
+        /**
+         * The 50th percentile of the latencies in microseconds.
+         */
+        private final long p50;
+
+        /**
+         * The 95th percentile of the latencies in microseconds.
+         */
+        private final long p95;
+
+        /**
+         * The 99th percentile of the latencies in microseconds.
+         */
+        private final long p99;
+
+        /**
+         * The maximum latency in microseconds.
+         */
+        private final long max;
+
+        /**
+         * Creates a new distribution of latencies from a specific histogram.
+         *
+         * @param histogram
+         *         The histogram, which contains the recorded latencies, as an instance of the class
+         *         {@link LatencyHistogram}. The histogram may not be null
+         */
+        Latency(@NonNull final LatencyHistogram histogram) {
+            this.count = histogram.getCount();
+            this.average = histogram.getAverage();
+            this.p50 = histogram.getPercentile(0.5);
+            this.p95 = histogram.getPercentile(0.95);
+            this.p99 = histogram.getPercentile(0.99);
+            this.max = histogram.getMax();
+        }
+
+        /**
+         * Returns the number of latencies, which have been recorded.
+         *
+         * @return The number of latencies, which have been recorded, as a {@link Long} value
+         */
+        public final long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the average latency.
+         *
+         * @return The average latency in microseconds as a {@link Long} value or 0, if no
+         * latencies have been recorded
+         */
+        public final long getAverage() {
+            return average;
+        }
+
+        /**
+         * Returns an estimate of the 50th percentile (median) of the latencies.
+         *
+         * @return An estimate of the 50th percentile in microseconds as a {@link Long} value or 0,
+         * if no latencies have been recorded
+         */
+        public final long getP50() {
+            return p50;
+        }
+
+        /**
+         * Returns an estimate of the 95th percentile of the latencies.
+         *
+         * @return An estimate of the 95th percentile in microseconds as a {@link Long} value or 0,
+         * if no latencies have been recorded
+         */
+        public final long getP95() {
+            return p95;
+        }
+
+        /**
+         * Returns an estimate of the 99th percentile of the latencies.
+         *
+         * @return An estimate of the 99th percentile in microseconds as a {@link Long} value or 0,
+         * if no latencies have been recorded
+         */
+        public final long getP99() {
+            return p99;
+        }
+
+        /**
+         * Returns the maximum latency.
+         *
+         * @return The maximum latency in microseconds as a {@link Long} value or 0, if no latencies
+         * have been recorded
+         */
+        public final long getMax() {
+            return max;
+        }
+
+        @Override
+        public final String toString() {
+            return "[count=" + count + ", avg=" + average + "us, p50=" + p50 + "us, p95=" + p95 +
+                    "us, p99=" + p99 + "us, max=" + max + "us]";
+        }
+
+    }
+
+    /**
+     * The number of loads, whose data has been retrieved from the cache.
+     */
+    long cacheHitCount;
+
+    /**
+     * The number of loads, whose data has not been contained by the cache.
+     */
+    long cacheMissCount;
+
+    /**
+     * The number of prefetched keys, whose data has already been cached.
+     */
+    long prefetchHitCount;
+
+    /**
+     * The number of prefetched keys, whose data has not been cached.
+     */
+    long prefetchMissCount;
+
+    /**
+     * The number of requests, which have been added to an already existing task.
+     */
+    long coalescedLoadCount;
+
+    /**
+     * The number of tasks, which have been canceled.
+     */
+    long canceledTaskCount;
+
+    /**
+     * The number of results, which have been discarded, because their views have been recycled.
+     */
+    long discardedResultCount;
+
+    /**
+     * The number of tasks, which are currently in flight.
+     */
+    int inFlightTaskCount;
+
+    /**
+     * The number of tasks, which are currently deferred.
+     */
+    int deferredTaskCount;
+
+    /**
+     * The maximum number of tasks, which have been deferred at the same time.
+     */
+    int maxDeferredTaskCount;
+
+    /**
+     * The average time in milliseconds, deferred tasks have been waiting until they have been
+     * resumed.
+     */
+    long averageDeferralTime;
+
+    /**
+     * The maximum time in milliseconds, a deferred task has been waiting until it has been resumed.
+     */
+    long maxDeferralTime;
+
+    /**
+     * The distribution of the times, tasks have been waiting in the queue of the thread pool.
+     */
+    Latency queueWaitTime;
+
+    /**
+     * The distribution of the times, which have been needed to load data in a background thread.
+     */
+    Latency loadTime;
+
+    /**
+     * The distribution of the times between loaded data being ready and being displayed.
+     */
+    Latency deliveryLatency;
+
+    /**
+     * Creates a new snapshot of the metrics of a data binder.
+     */
+    DataBinderMetrics() {
+
+    }
+
+    /**
+     * Returns the number of loads, whose data has been retrieved from the cache.
+     *
+     * @return The number of loads, whose data has been retrieved from the cache, as a {@link Long}
+     * value
+     */
+    public final long getCacheHitCount() {
+        return cacheHitCount;
+    }
+
+    /**
+     * Returns the number of loads, whose data has not been contained by the cache.
+     *
+     * @return The number of loads, whose data has not been contained by the cache, as a {@link
+     * Long} value
+     */
+    public final long getCacheMissCount() {
+        return cacheMissCount;
+    }
+
+    /**
+     * Returns the ratio of loads, whose data has been retrieved from the cache.
+     *
+     * @return The ratio of loads, whose data has been retrieved from the cache, as a {@link Float}
+     * value between 0 and 1
+     */
+    public final float getCacheHitRatio() {
+        long total = cacheHitCount + cacheMissCount;
+        return total > 0 ? (float) cacheHitCount / total : 0;
+    }
+
+    /**
+     * Returns the number of prefetched keys, whose data has already been cached.
+     *
+     * @return The number of prefetched keys, whose data has already been cached, as a {@link Long}
+     * value
+     */
+    public final long getPrefetchHitCount() {
+        return prefetchHitCount;
+    }
+
+    /**
+     * Returns the number of prefetched keys, whose data has not been cached.
+     *
+     * @return The number of prefetched keys, whose data has not been cached, as a {@link Long}
+     * value
+     */
+    public final long getPrefetchMissCount() {
+        return prefetchMissCount;
+    }
+
+    /**
+     * Returns the number of requests, which have been added to an already existing task instead of
+     * loading the data again.
+     *
+     * @return The number of requests, which have been added to an already existing task, as a
+     * {@link Long} value
+     */
+    public final long getCoalescedLoadCount() {
+        return coalescedLoadCount;
+    }
+
+    /**
+     * Returns the number of tasks, which have been canceled, because their views have been
+     * recycled, or because the data binder has been canceled.
+     *
+     * @return The number of tasks, which have been canceled, as a {@link Long} value
+     */
+    public final long getCanceledTaskCount() {
+        return canceledTaskCount;
+    }
+
+    /**
+     * Returns the number of results, which have been discarded after loading, because their views
+     * have been recycled in the meantime.
+     *
+     * @return The number of results, which have been discarded, as a {@link Long} value
+     */
+    public final long getDiscardedResultCount() {
+        return discardedResultCount;
+    }
+
+    /**
+     * Returns the number of tasks, which were in flight, when the snapshot has been created. This
+     * includes tasks, which wait to be executed, tasks, which are currently executed, and tasks,
+     * whose results wait to be displayed.
+     *
+     * @return The number of tasks, which were in flight, as an {@link Integer} value
+     */
+    public final int getInFlightTaskCount() {
+        return inFlightTaskCount;
+    }
+
+    /**
+     * Returns the number of tasks, which were deferred, when the snapshot has been created.
+     *
+     * @return The number of tasks, which were deferred, as an {@link Integer} value
+     */
+    public final int getDeferredTaskCount() {
+        return deferredTaskCount;
+    }
+
+    /**
+     * Returns the maximum number of tasks, which have been deferred at the same time.
+     *
+     * @return The maximum number of tasks, which have been deferred at the same time, as an {@link
+     * Integer} value
+     */
+    public final int getMaxDeferredTaskCount() {
+        return maxDeferredTaskCount;
+    }
+
+    /**
+     * Returns the average time, deferred tasks have been waiting until they have been resumed.
+     *
+     * @return The average time in milliseconds as a {@link Long} value or 0, if no tasks have been
+     * resumed
+     */
+    public final long getAverageDeferralTime() {
+        return averageDeferralTime;
+    }
+
+    /**
+     * Returns the maximum time, a deferred task has been waiting until it has been resumed.
+     *
+     * @return The maximum time in milliseconds as a {@link Long} value or 0, if no tasks have been
+     * resumed
+     */
+    public final long getMaxDeferralTime() {
+        return maxDeferralTime;
+    }
+
+    /**
+     * Returns the distribution of the times, tasks have been waiting in the queue of the thread
+     * pool, before being executed.
+     *
+     * @return The distribution of the times as an instance of the class {@link Latency}. The
+     * distribution may not be null
+     */
+    @NonNull
+    public final Latency getQueueWaitTime() {
+        return queueWaitTime;
+    }
+
+    /**
+     * Returns the distribution of the times, which have been needed by the methods {@link
+     * AbstractDataBinder#doInBackground(Object, Object[])} and {@link
+     * AbstractDataBinder#doInBackgroundBatch(java.util.Collection)} to load data.
+     *
+     * @return The distribution of the times as an instance of the class {@link Latency}. The
+     * distribution may not be null
+     */
+    @NonNull
+    public final Latency getLoadTime() {
+        return loadTime;
+    }
+
+    /**
+     * Returns the distribution of the times between loaded data being ready and being displayed on
+     * the UI thread.
+     *
+     * @return The distribution of the times as an instance of the class {@link Latency}. The
+     * distribution may not be null
+     */
+    @NonNull
+    public final Latency getDeliveryLatency() {
+        return deliveryLatency;
+    }
+
+    @Override
+    public final String toString() {
+        return "DataBinderMetrics [cacheHitRatio=" + getCacheHitRatio() + ", cacheHits=" +
+                cacheHitCount + ", cacheMisses=" + cacheMissCount + ", prefetchHits=" +
+                prefetchHitCount + ", prefetchMisses=" + prefetchMissCount + ", coalescedLoads=" +
+                coalescedLoadCount + ", canceledTasks=" + canceledTaskCount +
+                ", discardedResults=" + discardedResultCount + ", inFlightTasks=" +
+                inFlightTaskCount + ", deferredTasks=" + deferredTaskCount +
+                ", maxDeferredTasks=" + maxDeferredTaskCount + ", avgDeferralTime=" +
+                averageDeferralTime + "ms, maxDeferralTime=" + maxDeferralTime +
+                "ms, queueWaitTime=" + queueWaitTime + ", loadTime=" + loadTime +
+                ", deliveryLatency=" + deliveryLatency + "]";
+    }
+
+}
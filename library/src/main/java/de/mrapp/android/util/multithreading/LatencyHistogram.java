@@ -0,0 +1,197 @@
+/*
+ * Copyright 2015 - 2019 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.util.multithreading;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram, which records latencies in microseconds and allows to estimate their percentiles.
+ * Each power of two is split into four buckets, i.e. the estimated percentiles deviate from the
+ * actual latencies by at most 25 percent. Latencies can be recorded by multiple threads
+ * concurrently without locking.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+class LatencyHistogram {
+
+    /**
+     * The number of buckets per power of two.
+     */
+    private static final int SUB_BUCKET_COUNT = 4;
+
+    /**
+     * The number of bits, which are needed to represent the index of a bucket within a power of
+     * two.
+     */
+    private static final int SUB_BUCKET_BITS = 2;
+
+    /**
+     * The total number of buckets.
+     */
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (62 - 1) * SUB_BUCKET_COUNT;
+
+    /**
+     * An array, which contains the number of latencies, which have been recorded per bucket.
+     */
+    private final AtomicLongArray buckets;
+
+    /**
+     * The number of latencies, which have been recorded.
+     */
+    private final AtomicLong count;
+
+    /**
+     * The sum of all latencies, which have been recorded, in microseconds.
+     */
+    private final AtomicLong sum;
+
+    /**
+     * The maximum latency, which has been recorded, in microseconds.
+     */
+    private final AtomicLong max;
+
+    /**
+     * Returns the index of the bucket, a specific latency belongs to.
+     *
+     * @param latency
+     *         The latency in microseconds as a {@link Long} value. The latency must be at least 0
+     * @return The index of the bucket, the given latency belongs to, as an {@link Integer} value
+     */
+    private static int getBucketIndex(final long latency) {
+        if (latency < SUB_BUCKET_COUNT) {
+            return (int) latency;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(latency);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) ((latency >> shift) & (SUB_BUCKET_COUNT - 1));
+        return SUB_BUCKET_COUNT + (shift * SUB_BUCKET_COUNT) + subBucket;
+    }
+
+    /**
+     * Returns the greatest latency, which belongs to a specific bucket.
+     *
+     * @param index
+     *         The index of the bucket as an {@link Integer} value
+     * @return The greatest latency, which belongs to the given bucket, in microseconds as a {@link
+     * Long} value
+     */
+    private static long getUpperBound(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Creates a new histogram.
+     */
+    LatencyHistogram() {
+        this.buckets = new AtomicLongArray(BUCKET_COUNT);
+        this.count = new AtomicLong(0);
+        this.sum = new AtomicLong(0);
+        this.max = new AtomicLong(0);
+    }
+
+    /**
+     * Records a specific latency.
+     *
+     * @param latencyNanos
+     *         The latency, which should be recorded, in nanoseconds as a {@link Long} value.
+     *         Negative latencies are treated as 0
+     */
+    final void record(final long latencyNanos) {
+        long latency = Math.max(0, latencyNanos / 1000);
+        buckets.incrementAndGet(getBucketIndex(latency));
+        count.incrementAndGet();
+        sum.addAndGet(latency);
+        long currentMax;
+
+        do {
+            currentMax = max.get();
+        } while (latency > currentMax && !max.compareAndSet(currentMax, latency));
+    }
+
+    /**
+     * Returns the number of latencies, which have been recorded.
+     *
+     * @return The number of latencies, which have been recorded, as a {@link Long} value
+     */
+    final long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the average of all latencies, which have been recorded.
+     *
+     * @return The average of all latencies, which have been recorded, in microseconds as a {@link
+     * Long} value or 0, if no latencies have been recorded
+     */
+    final long getAverage() {
+        long count = this.count.get();
+        return count > 0 ? sum.get() / count : 0;
+    }
+
+    /**
+     * Returns the maximum latency, which has been recorded.
+     *
+     * @return The maximum latency, which has been recorded, in microseconds as a {@link Long} value
+     * or 0, if no latencies have been recorded
+     */
+    final long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns an estimate of a specific percentile of the latencies, which have been recorded.
+     *
+     * @param percentile
+     *         The percentile, which should be returned, as a {@link Double} value. The percentile
+     *         must be greater than 0 and at maximum 1
+     * @return An estimate of the given percentile in microseconds as a {@link Long} value or 0, if
+     * no latencies have been recorded
+     */
+    final long getPercentile(final double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(percentile * total));
+        long cumulativeCount = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulativeCount += counts[i];
+
+            if (cumulativeCount >= target) {
+                return Math.min(getUpperBound(i), max.get());
+            }
+        }
+
+        return max.get();
+    }
+
+}
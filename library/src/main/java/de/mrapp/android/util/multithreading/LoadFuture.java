@@ -0,0 +1,207 @@
+/*
+ * Copyright 2015 - 2019 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.util.multithreading;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import de.mrapp.util.Condition;
+
+/**
+ * A future, which allows to wait for data, which is loaded by an {@link AbstractDataBinder} in
+ * order to display it in a specific view, and to cancel loading it. The future is completed once
+ * the data has been loaded, i.e. before it is displayed by the view. It is canceled, if the view is
+ * used to display other data in the meantime, or if the data binder is canceled.
+ *
+ * @param <DataType>
+ *         The type of the data, which is loaded
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class LoadFuture<DataType> implements Future<DataType> {
+
+    /**
+     * The state of a future, whose data has not been loaded yet.
+     */
+    private static final int STATE_PENDING = 0;
+
+    /**
+     * The state of a future, whose data has been loaded.
+     */
+    private static final int STATE_DONE = 1;
+
+    /**
+     * The state of a future, which has been canceled.
+     */
+    private static final int STATE_CANCELED = 2;
+
+    /**
+     * The latch, which is used to wait for the future to be completed or canceled.
+     */
+    private final CountDownLatch latch;
+
+    /**
+     * The current state of the future.
+     */
+    private int state;
+
+    /**
+     * The data, which has been loaded.
+     */
+    private DataType result;
+
+    /**
+     * The runnable, which is executed in order to cancel loading the data, or null, if no such
+     * runnable has been set.
+     */
+    private volatile Runnable cancelCallback;
+
+    /**
+     * Returns the result of the future, after it has been completed or canceled.
+     *
+     * @return The result of the future as an instance of the generic type DataType or null, if no
+     * data has been loaded
+     */
+    @Nullable
+    private synchronized DataType getResult() {
+        if (state == STATE_CANCELED) {
+            throw new CancellationException("Loading the data has been canceled");
+        }
+
+        return result;
+    }
+
+    /**
+     * Creates a new future.
+     */
+    LoadFuture() {
+        this.latch = new CountDownLatch(1);
+        this.state = STATE_PENDING;
+        this.result = null;
+        this.cancelCallback = null;
+    }
+
+    /**
+     * Sets the runnable, which should be executed in order to cancel loading the data, when the
+     * future is canceled.
+     *
+     * @param cancelCallback
+     *         The runnable, which should be set, as an instance of the type {@link Runnable} or
+     *         null, if no runnable should be executed
+     */
+    final void setCancelCallback(@Nullable final Runnable cancelCallback) {
+        this.cancelCallback = cancelCallback;
+    }
+
+    /**
+     * Completes the future, unless it has already been completed or canceled.
+     *
+     * @param data
+     *         The data, which has been loaded, as an instance of the generic type DataType or
+     *         null, if no data has been loaded
+     * @return True, if the future has been completed, false otherwise
+     */
+    final boolean complete(@Nullable final DataType data) {
+        synchronized (this) {
+            if (state != STATE_PENDING) {
+                return false;
+            }
+
+            result = data;
+            state = STATE_DONE;
+        }
+
+        latch.countDown();
+        return true;
+    }
+
+    /**
+     * Cancels the future without canceling loading the data, unless it has already been completed
+     * or canceled.
+     *
+     * @return True, if the future has been canceled, false otherwise
+     */
+    final boolean abort() {
+        synchronized (this) {
+            if (state != STATE_PENDING) {
+                return false;
+            }
+
+            state = STATE_CANCELED;
+        }
+
+        latch.countDown();
+        return true;
+    }
+
+    /**
+     * Cancels the future and stops loading the data, unless it has already been completed. The
+     * data is not displayed by the view. If no other views wait for the same data, loading it is
+     * canceled. A long-running implementation of the method {@link
+     * AbstractDataBinder#doInBackground(Object, Object[])} can abort by using the method {@link
+     * AbstractDataBinder#isTaskCanceled()}, regardless of the given argument.
+     *
+     * @param mayInterruptIfRunning
+     *         This argument is ignored
+     * @return True, if the future has been canceled, false otherwise
+     */
+    @Override
+    public final boolean cancel(final boolean mayInterruptIfRunning) {
+        if (abort()) {
+            Runnable callback = cancelCallback;
+
+            if (callback != null) {
+                callback.run();
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public final synchronized boolean isCancelled() {
+        return state == STATE_CANCELED;
+    }
+
+    @Override
+    public final synchronized boolean isDone() {
+        return state != STATE_PENDING;
+    }
+
+    @Override
+    public final DataType get() throws InterruptedException {
+        latch.await();
+        return getResult();
+    }
+
+    @Override
+    public final DataType get(final long timeout, @NonNull final TimeUnit unit)
+            throws InterruptedException, TimeoutException {
+        Condition.INSTANCE.ensureNotNull(unit, "The time unit may not be null");
+
+        if (!latch.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+
+        return getResult();
+    }
+
+}
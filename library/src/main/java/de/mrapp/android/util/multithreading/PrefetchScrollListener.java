@@ -0,0 +1,245 @@
+/*
+ * Copyright 2015 - 2019 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.util.multithreading;
+
+import android.widget.AbsListView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import de.mrapp.util.Condition;
+
+/**
+ * A scroll listener, which allows to prefetch the data of the items, which are located just beyond
+ * the visible items of a {@link RecyclerView} or {@link AbsListView}, by using a {@link
+ * AbstractDataBinder}. Depending on the scroll direction, the data of the items, which will become
+ * visible next, is stored in the cache of the data binder, before their views are bound.
+ * <p>
+ * When used with a {@link RecyclerView}, its layout manager must be a {@link LinearLayoutManager},
+ * or one of its subclasses. Otherwise, no data is prefetched.
+ *
+ * @param <KeyType>
+ *         The type of the keys, which allow to uniquely identify the data of items
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class PrefetchScrollListener<KeyType> extends RecyclerView.OnScrollListener
+        implements AbsListView.OnScrollListener {
+
+    /**
+     * Defines the interface, a class, which provides the keys of the data of items, must implement.
+     *
+     * @param <KeyType>
+     *         The type of the keys
+     */
+    public interface KeyProvider<KeyType> {
+
+        /**
+         * The method, which is invoked in order to retrieve the key of the data of the item at a
+         * specific position.
+         *
+         * @param position
+         *         The position of the item, whose key should be returned, as an {@link Integer}
+         *         value
+         * @return The key of the data of the item at the given position as an instance of the
+         * generic type KeyType or null, if no data should be prefetched for the item
+         */
+        @Nullable
+        KeyType getKey(int position);
+
+    }
+
+    /**
+     * The number of items beyond the visible items, whose data is prefetched by default.
+     */
+    public static final int DEFAULT_PREFETCH_DISTANCE = 5;
+
+    /**
+     * The data binder, which is used to prefetch data.
+     */
+    private final AbstractDataBinder<?, KeyType, ?, ?> dataBinder;
+
+    /**
+     * The provider, which provides the keys of the data of items.
+     */
+    private final KeyProvider<KeyType> keyProvider;
+
+    /**
+     * The number of items beyond the visible items, whose data is prefetched.
+     */
+    private final int prefetchDistance;
+
+    /**
+     * The position of the first visible item of an {@link AbsListView}, when it has been scrolled
+     * most recently.
+     */
+    private int previousFirstVisibleItem;
+
+    /**
+     * The direction of the most recent scroll movement. A positive value, if the list has been
+     * scrolled towards the end, a negative value, if it has been scrolled towards the start.
+     */
+    private int direction;
+
+    /**
+     * The position of the item, whose data has been prefetched most recently, or -1, if no data
+     * has been prefetched in the current scroll direction.
+     */
+    private int prefetchedPosition;
+
+    /**
+     * Prefetches the data of the items, which are located beyond the visible items in the current
+     * scroll direction.
+     *
+     * @param firstVisibleItem
+     *         The position of the first visible item as an {@link Integer} value
+     * @param lastVisibleItem
+     *         The position of the last visible item as an {@link Integer} value
+     * @param itemCount
+     *         The total number of items as an {@link Integer} value
+     * @param scrollDirection
+     *         The direction of the scroll movement as an {@link Integer} value. A positive value,
+     *         if the list has been scrolled towards the end, a negative value, if it has been
+     *         scrolled towards the start, or 0, if the direction is unknown
+     */
+    private void prefetch(final int firstVisibleItem, final int lastVisibleItem,
+                          final int itemCount, final int scrollDirection) {
+        if (scrollDirection == 0 || firstVisibleItem < 0 || lastVisibleItem < 0) {
+            return;
+        }
+
+        if (Integer.signum(scrollDirection) != direction) {
+            direction = Integer.signum(scrollDirection);
+            prefetchedPosition = -1;
+        }
+
+        int start;
+        int end;
+
+        if (direction > 0) {
+            start = Math.max(lastVisibleItem + 1, prefetchedPosition + 1);
+            end = Math.min(itemCount - 1, lastVisibleItem + prefetchDistance);
+        } else {
+            start = Math.max(0, firstVisibleItem - prefetchDistance);
+            end = prefetchedPosition != -1 ? Math.min(firstVisibleItem, prefetchedPosition) - 1 :
+                    firstVisibleItem - 1;
+        }
+
+        if (start <= end) {
+            List<KeyType> keys = new ArrayList<>(end - start + 1);
+
+            for (int i = 0; i <= end - start; i++) {
+                int position = direction > 0 ? start + i : end - i;
+                KeyType key = keyProvider.getKey(position);
+
+                if (key != null) {
+                    keys.add(key);
+                }
+            }
+
+            prefetchedPosition = direction > 0 ? end : start;
+            dataBinder.prefetchAll(keys);
+        }
+    }
+
+    /**
+     * Creates a new scroll listener, which prefetches the data of
+     * <code>DEFAULT_PREFETCH_DISTANCE</code> items beyond the visible items.
+     *
+     * @param dataBinder
+     *         The data binder, which should be used to prefetch data, as an instance of the class
+     *         {@link AbstractDataBinder}. The data binder may not be null
+     * @param keyProvider
+     *         The provider, which should be used to retrieve the keys of the data of items, as an
+     *         instance of the type {@link KeyProvider}. The provider may not be null
+     */
+    public PrefetchScrollListener(@NonNull final AbstractDataBinder<?, KeyType, ?, ?> dataBinder,
+                                  @NonNull final KeyProvider<KeyType> keyProvider) {
+        this(dataBinder, keyProvider, DEFAULT_PREFETCH_DISTANCE);
+    }
+
+    /**
+     * Creates a new scroll listener, which prefetches the data of a specific number of items
+     * beyond the visible items.
+     *
+     * @param dataBinder
+     *         The data binder, which should be used to prefetch data, as an instance of the class
+     *         {@link AbstractDataBinder}. The data binder may not be null
+     * @param keyProvider
+     *         The provider, which should be used to retrieve the keys of the data of items, as an
+     *         instance of the type {@link KeyProvider}. The provider may not be null
+     * @param prefetchDistance
+     *         The number of items beyond the visible items, whose data should be prefetched, as an
+     *         {@link Integer} value. The number of items must be at least 1
+     */
+    public PrefetchScrollListener(@NonNull final AbstractDataBinder<?, KeyType, ?, ?> dataBinder,
+                                  @NonNull final KeyProvider<KeyType> keyProvider,
+                                  final int prefetchDistance) {
+        Condition.INSTANCE.ensureNotNull(dataBinder, "The data binder may not be null");
+        Condition.INSTANCE.ensureNotNull(keyProvider, "The key provider may not be null");
+        Condition.INSTANCE
+                .ensureAtLeast(prefetchDistance, 1, "The prefetch distance must be at least 1");
+        this.dataBinder = dataBinder;
+        this.keyProvider = keyProvider;
+        this.prefetchDistance = prefetchDistance;
+        this.previousFirstVisibleItem = -1;
+        this.direction = 0;
+        this.prefetchedPosition = -1;
+    }
+
+    /**
+     * Returns the number of items beyond the visible items, whose data is prefetched.
+     *
+     * @return The number of items beyond the visible items, whose data is prefetched, as an {@link
+     * Integer} value
+     */
+    public final int getPrefetchDistance() {
+        return prefetchDistance;
+    }
+
+    @Override
+    public final void onScrolled(@NonNull final RecyclerView recyclerView, final int dx,
+                                 final int dy) {
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+
+        if (layoutManager instanceof LinearLayoutManager) {
+            LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
+            prefetch(linearLayoutManager.findFirstVisibleItemPosition(),
+                    linearLayoutManager.findLastVisibleItemPosition(),
+                    linearLayoutManager.getItemCount(), dy != 0 ? dy : dx);
+        }
+    }
+
+    @Override
+    public final void onScrollStateChanged(final AbsListView view, final int scrollState) {
+
+    }
+
+    @Override
+    public final void onScroll(final AbsListView view, final int firstVisibleItem,
+                               final int visibleItemCount, final int totalItemCount) {
+        if (visibleItemCount > 0) {
+            int scrollDirection = previousFirstVisibleItem != -1 ?
+                    firstVisibleItem - previousFirstVisibleItem : 0;
+            previousFirstVisibleItem = firstVisibleItem;
+            prefetch(firstVisibleItem, firstVisibleItem + visibleItemCount - 1, totalItemCount,
+                    scrollDirection);
+        }
+    }
+
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2015 - 2019 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.util.multithreading;
+
+import android.os.Process;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import androidx.annotation.NonNull;
+import de.mrapp.util.Condition;
+
+/**
+ * A thread pool, which uses a bounded number of threads in order to execute tasks. Pending tasks
+ * are executed depending on their priority. Tasks with the same priority are executed in reverse
+ * order of their submission (LIFO), i.e. the most recently submitted task is executed first. This
+ * is for example useful when loading data, which is displayed by the views of a scrolling list,
+ * where the most recently bound views are the ones, which are currently visible.
+ * <p>
+ * The priority of a task can be specified by implementing the interface {@link Prioritized}. Tasks,
+ * which do not implement this interface, have the priority <code>DEFAULT_PRIORITY</code>.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class PriorityThreadPoolExecutor extends ThreadPoolExecutor {
+
+    /**
+     * Defines the interface, a task, whose priority should be taken into account by a {@link
+     * PriorityThreadPoolExecutor}, must implement.
+     */
+    public interface Prioritized {
+
+        /**
+         * Returns the priority of the task. Tasks with a greater priority are executed first.
+         *
+         * @return The priority of the task as an {@link Integer} value
+         */
+        int getPriority();
+
+    }
+
+    /**
+     * A future task, which is executed by a {@link PriorityThreadPoolExecutor} and can be ordered
+     * according to its priority and the time of its submission.
+     *
+     * @param <T>
+     *         The type of the task's result
+     */
+    private static class PriorityFutureTask<T> extends FutureTask<T>
+            implements Comparable<PriorityFutureTask<?>> {
+
+        /**
+         * The priority of the task.
+         */
+        private final int priority;
+
+        /**
+         * The sequence number of the task, which corresponds to the order of submission.
+         */
+        private final long sequenceNumber;
+
+        /**
+         * Creates a new future task.
+         *
+         * @param runnable
+         *         The runnable, which should be executed, as an instance of the type {@link
+         *         Runnable}. The runnable may not be null
+         * @param result
+         *         The result, which should be returned on successful completion, as an instance of
+         *         the generic type T or null
+         * @param sequenceNumber
+         *         The sequence number of the task as a {@link Long} value
+         */
+        PriorityFutureTask(@NonNull final Runnable runnable, final T result,
+                           final long sequenceNumber) {
+            super(runnable, result);
+            this.priority = getPriority(runnable);
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        /**
+         * Creates a new future task.
+         *
+         * @param callable
+         *         The callable, which should be executed, as an instance of the type {@link
+         *         Callable}. The callable may not be null
+         * @param sequenceNumber
+         *         The sequence number of the task as a {@link Long} value
+         */
+        PriorityFutureTask(@NonNull final Callable<T> callable, final long sequenceNumber) {
+            super(callable);
+            this.priority = getPriority(callable);
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        /**
+         * Returns the priority of a specific task.
+         *
+         * @param task
+         *         The task, whose priority should be returned, as an instance of the class {@link
+         *         Object}. The task may not be null
+         * @return The priority of the given task as an {@link Integer} value
+         */
+        private static int getPriority(@NonNull final Object task) {
+            return task instanceof Prioritized ? ((Prioritized) task).getPriority() :
+                    DEFAULT_PRIORITY;
+        }
+
+        @Override
+        public int compareTo(@NonNull final PriorityFutureTask<?> other) {
+            if (priority != other.priority) {
+                return priority > other.priority ? -1 : 1;
+            }
+
+            return sequenceNumber > other.sequenceNumber ? -1 :
+                    (sequenceNumber < other.sequenceNumber ? 1 : 0);
+        }
+
+    }
+
+    /**
+     * The priority of tasks, which do not implement the interface {@link Prioritized}.
+     */
+    public static final int DEFAULT_PRIORITY = 0;
+
+    /**
+     * The time in milliseconds, idle threads are kept alive, before they are terminated.
+     */
+    private static final long KEEP_ALIVE_TIME = 1000;
+
+    /**
+     * The sequence number of the task, which has been submitted most recently.
+     */
+    private final AtomicLong sequenceNumber;
+
+    /**
+     * Returns the number of threads, which are used by default. It corresponds to the number of
+     * available processors.
+     *
+     * @return The number of threads, which are used by default, as an {@link Integer} value
+     */
+    private static int getDefaultThreadCount() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates and returns a thread factory, which creates threads with background priority.
+     *
+     * @return The thread factory, which has been created, as an instance of the type {@link
+     * ThreadFactory}. The thread factory may not be null
+     */
+    @NonNull
+    private static ThreadFactory createThreadFactory() {
+        return new ThreadFactory() {
+
+            private final AtomicInteger threadCount = new AtomicInteger(0);
+
+            @Override
+            public Thread newThread(@NonNull final Runnable runnable) {
+                Thread thread = new Thread(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                        runnable.run();
+                    }
+
+                }, PriorityThreadPoolExecutor.class.getSimpleName() + "-" +
+                        threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+
+        };
+    }
+
+    /**
+     * Creates a new thread pool, which uses as many threads as processors are available.
+     */
+    public PriorityThreadPoolExecutor() {
+        this(getDefaultThreadCount());
+    }
+
+    /**
+     * Creates a new thread pool, which uses a specific number of threads.
+     *
+     * @param threadCount
+     *         The maximum number of threads, which should be used to execute tasks, as an {@link
+     *         Integer} value. The number of threads must be at least 1
+     */
+    public PriorityThreadPoolExecutor(final int threadCount) {
+        super(threadCount, threadCount, KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<Runnable>(), createThreadFactory());
+        this.sequenceNumber = new AtomicLong(0);
+        allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    protected final <T> RunnableFuture<T> newTaskFor(final Runnable runnable, final T value) {
+        return new PriorityFutureTask<>(runnable, value, sequenceNumber.incrementAndGet());
+    }
+
+    @Override
+    protected final <T> RunnableFuture<T> newTaskFor(final Callable<T> callable) {
+        return new PriorityFutureTask<>(callable, sequenceNumber.incrementAndGet());
+    }
+
+    @Override
+    public final void execute(@NonNull final Runnable command) {
+        Condition.INSTANCE.ensureNotNull(command, "The command may not be null");
+        super.execute(command instanceof PriorityFutureTask ? command :
+                newTaskFor(command, null));
+    }
+
+}
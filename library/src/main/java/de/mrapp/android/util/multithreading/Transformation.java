@@ -0,0 +1,56 @@
+/*
+ * Copyright 2015 - 2019 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.util.multithreading;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Defines the interface, a class, which allows to transform data, which has been loaded by an
+ * {@link AbstractDataBinder}, must implement. Transformations are executed in a background thread
+ * and can be chained, e.g. in order to decode an image and to clip it afterwards. The result of
+ * each transformation can be cached by the data binder under a key, which is derived from the key
+ * of the transformation.
+ *
+ * @param <DataType>
+ *         The type of the data, which is transformed
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public interface Transformation<DataType> {
+
+    /**
+     * Returns a key, which uniquely identifies the transformation and its configuration. It is
+     * used to derive the keys, the results of the transformation are cached under.
+     *
+     * @return The key of the transformation as a {@link String}. The key may neither be null, nor
+     * empty
+     */
+    @NonNull
+    String getKey();
+
+    /**
+     * The method, which is invoked in order to transform specific data. This method is executed in
+     * a background thread and therefore no views may be modified.
+     *
+     * @param data
+     *         The data, which should be transformed, as an instance of the generic type DataType.
+     *         The data may not be null
+     * @return The transformed data as an instance of the generic type DataType or null, if the
+     * data could not be transformed
+     */
+    @Nullable
+    DataType transform(@NonNull DataType data);
+
+}